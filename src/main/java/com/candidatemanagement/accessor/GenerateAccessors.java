@@ -0,0 +1,19 @@
+package com.candidatemanagement.accessor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@code <Type>Accessors} class next to the annotated class or record at build time, exposing every
+ * instance field by name through its getter (or record accessor), together with its type and, for enum fields,
+ * the enum constants. The generated class is registered in {@code PropertyAccessorRegistry}.
+ * <p>
+ * A field without a public getter fails the build, so adding a field cannot silently hide it from criteria
+ * matching or validation.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessors {
+}
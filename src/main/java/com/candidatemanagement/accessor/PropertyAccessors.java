@@ -0,0 +1,38 @@
+package com.candidatemanagement.accessor;
+
+import java.util.List;
+
+/**
+ * Reflection-free, name-based access to the properties of {@code T}. Implementations are generated from
+ * {@link GenerateAccessors}.
+ */
+public interface PropertyAccessors<T> {
+
+    Class<T> type();
+
+    /**
+     * Property names in declaration order, inherited properties last.
+     */
+    List<String> names();
+
+    boolean has(String name);
+
+    /**
+     * Reads a property through its getter; throws {@link IllegalArgumentException} for an unknown name.
+     */
+    Object get(T target, String name);
+
+    /**
+     * Returns the declared (erased) type of a property, or {@code null} for an unknown name.
+     */
+    Class<?> typeOf(String name);
+
+    /**
+     * Returns the constant names of an enum-typed property, or an empty list for any other property.
+     */
+    List<String> enumConstants(String name);
+
+    default Object read(Object target, String name) {
+        return get(type().cast(target), name);
+    }
+}
@@ -0,0 +1,257 @@
+package com.candidatemanagement.accessor.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the {@code <Type>Accessors} classes and the {@code PropertyAccessorRegistry} for types annotated with
+ * {@code @GenerateAccessors}. Compiled ahead of the application sources (see the {@code compile-accessor-processor}
+ * execution in the pom) and run during the main compilation.
+ */
+@SupportedAnnotationTypes(AccessorProcessor.ANNOTATION)
+public class AccessorProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.candidatemanagement.accessor.GenerateAccessors";
+    static final String REGISTRY_PACKAGE = "com.candidatemanagement.accessor";
+    static final String REGISTRY_NAME = "PropertyAccessorRegistry";
+
+    private record Property(String name, String getter, String type, List<String> enumConstants, String enumType) {}
+
+    private final Map<String, String> accessorClasses = new LinkedHashMap<>();
+    private final Map<String, List<String>> enumTypes = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type) {
+                    generateAccessors(type);
+                }
+            }
+        }
+        if (!annotations.isEmpty() && !accessorClasses.isEmpty()) {
+            generateRegistry();
+        }
+        return true;
+    }
+
+    private void generateAccessors(TypeElement type) {
+        List<Property> properties = collectProperties(type);
+        if (properties == null) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String targetType = type.getQualifiedName().toString();
+        String className = type.getSimpleName() + "Accessors";
+        accessorClasses.put(targetType, packageName + "." + className);
+        properties.stream()
+                .filter(property -> property.enumType() != null)
+                .forEach(property -> enumTypes.put(property.enumType(), property.enumConstants()));
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import com.candidatemanagement.accessor.PropertyAccessors;\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.util.List;\n\n")
+                .append("@Generated(\"").append(AccessorProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className)
+                .append(" implements PropertyAccessors<").append(targetType).append("> {\n\n")
+                .append("    public static final ").append(className).append(" INSTANCE = new ").append(className).append("();\n\n")
+                .append("    private static final List<String> NAMES = List.of(")
+                .append(properties.stream().map(property -> quote(property.name())).collect(Collectors.joining(", ")))
+                .append(");\n\n")
+                .append("    private ").append(className).append("() {\n    }\n\n");
+
+        source.append("    @Override\n    public Class<").append(targetType).append("> type() {\n")
+                .append("        return ").append(targetType).append(".class;\n    }\n\n");
+
+        source.append("    @Override\n    public List<String> names() {\n        return NAMES;\n    }\n\n");
+
+        source.append("    @Override\n    public boolean has(String name) {\n")
+                .append("        return switch (name) {\n");
+        if (!properties.isEmpty()) {
+            source.append("            case ")
+                    .append(properties.stream().map(property -> quote(property.name())).collect(Collectors.joining(", ")))
+                    .append(" -> true;\n");
+        }
+        source.append("            default -> false;\n        };\n    }\n\n");
+
+        source.append("    @Override\n    public Object get(").append(targetType).append(" target, String name) {\n")
+                .append("        return switch (name) {\n");
+        for (Property property : properties) {
+            source.append("            case ").append(quote(property.name()))
+                    .append(" -> target.").append(property.getter()).append("();\n");
+        }
+        source.append("            default -> throw new IllegalArgumentException(\"No property \" + name + \" on ")
+                .append(type.getSimpleName()).append("\");\n        };\n    }\n\n");
+
+        source.append("    @Override\n    public Class<?> typeOf(String name) {\n")
+                .append("        return switch (name) {\n");
+        for (Property property : properties) {
+            source.append("            case ").append(quote(property.name()))
+                    .append(" -> ").append(property.type()).append(".class;\n");
+        }
+        source.append("            default -> null;\n        };\n    }\n\n");
+
+        source.append("    @Override\n    public List<String> enumConstants(String name) {\n")
+                .append("        return switch (name) {\n");
+        for (Property property : properties) {
+            if (property.enumType() != null) {
+                source.append("            case ").append(quote(property.name())).append(" -> ")
+                        .append(listOf(property.enumConstants())).append(";\n");
+            }
+        }
+        source.append("            default -> List.of();\n        };\n    }\n}\n");
+
+        write(packageName + "." + className, source.toString(), type);
+    }
+
+    // Own fields first, then inherited ones, each in declaration order
+    private List<Property> collectProperties(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        if (type.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : ElementFilter.recordComponentsIn(type.getEnclosedElements())) {
+                properties.add(property(component.getSimpleName().toString(),
+                        component.getAccessor().getSimpleName().toString(), component.asType()));
+            }
+            return properties;
+        }
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        boolean valid = true;
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                String name = field.getSimpleName().toString();
+                ExecutableElement getter = findGetter(methods, name, field.asType());
+                if (getter == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Field " + name + " needs a public getter to be exposed by @GenerateAccessors", field);
+                    valid = false;
+                    continue;
+                }
+                properties.add(property(name, getter.getSimpleName().toString(), field.asType()));
+            }
+        }
+        return valid ? properties : null;
+    }
+
+    private Property property(String name, String getter, TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) erased).asElement().getKind() == ElementKind.ENUM) {
+            TypeElement enumType = (TypeElement) ((DeclaredType) erased).asElement();
+            List<String> constants = enumType.getEnclosedElements().stream()
+                    .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                    .map(element -> element.getSimpleName().toString())
+                    .toList();
+            return new Property(name, getter, erased.toString(), constants, enumType.getQualifiedName().toString());
+        }
+        return new Property(name, getter, erased.toString(), List.of(), null);
+    }
+
+    private ExecutableElement findGetter(List<ExecutableElement> methods, String fieldName, TypeMirror fieldType) {
+        String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        boolean isBoolean = fieldType.getKind() == TypeKind.BOOLEAN;
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName().toString();
+            boolean nameMatches = methodName.equals("get" + capitalized) || (isBoolean && methodName.equals("is" + capitalized));
+            if (nameMatches && method.getParameters().isEmpty()
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private void generateRegistry() {
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(REGISTRY_PACKAGE).append(";\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n * Every generated {@link PropertyAccessors} and the constants of the enums they expose.\n */\n")
+                .append("@Generated(\"").append(AccessorProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(REGISTRY_NAME).append(" {\n\n")
+                .append("    private static final Map<Class<?>, PropertyAccessors<?>> ACCESSORS = Map.ofEntries(\n")
+                .append(accessorClasses.entrySet().stream()
+                        .map(entry -> "            Map.entry(" + entry.getKey() + ".class, " + entry.getValue() + ".INSTANCE)")
+                        .collect(Collectors.joining(",\n")))
+                .append("\n    );\n\n")
+                .append("    private static final Map<Class<?>, List<String>> ENUM_CONSTANTS = Map.ofEntries(\n")
+                .append(enumTypes.entrySet().stream()
+                        .map(entry -> "            Map.entry(" + entry.getKey() + ".class, " + listOf(entry.getValue()) + ")")
+                        .collect(Collectors.joining(",\n")))
+                .append("\n    );\n\n")
+                .append("    private ").append(REGISTRY_NAME).append("() {\n    }\n\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public static <T> PropertyAccessors<T> forType(Class<T> type) {\n")
+                .append("        PropertyAccessors<?> accessors = ACCESSORS.get(type);\n")
+                .append("        if (accessors == null) {\n")
+                .append("            throw new IllegalArgumentException(type.getName() + \" is not annotated with @GenerateAccessors\");\n")
+                .append("        }\n")
+                .append("        return (PropertyAccessors<T>) accessors;\n    }\n\n")
+                .append("    /**\n     * Returns the constant names of an enum used by a generated accessor, or an empty list.\n     */\n")
+                .append("    public static List<String> enumConstants(Class<?> enumType) {\n")
+                .append("        return ENUM_CONSTANTS.getOrDefault(enumType, List.of());\n    }\n}\n");
+
+        write(REGISTRY_PACKAGE + "." + REGISTRY_NAME, source.toString());
+    }
+
+    private void write(String qualifiedName, String source, Element... originatingElements) {
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, originatingElements).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private static String listOf(List<String> values) {
+        return values.stream().map(AccessorProcessor::quote).collect(Collectors.joining(", ", "List.of(", ")"));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,94 @@
+package com.candidatemanagement.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter of known candidate emails, used to skip the {@code existsByEmail} round trip when an
+ * email has certainly never been stored. A positive answer only means "maybe", so callers still ask Mongo; the
+ * unique index on {@code email} stays the final arbiter for writes made by other nodes.
+ * <p>
+ * Until {@link #load(Iterator)} has completed every lookup answers "maybe", so the filter is safe to use from
+ * the first request. Deleted emails are never removed; they only cost an extra query.
+ */
+@Component
+public class CandidateEmailFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile boolean loaded = false;
+
+    public CandidateEmailFilter(
+            @Value("${candidate-management.email-filter.expected-insertions:1000000}") int expectedInsertions,
+            @Value("${candidate-management.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    public boolean mightContain(String email) {
+        if (!loaded || email == null) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            bits.getAndAccumulate(index >>> 6, 1L << index, (current, bit) -> current | bit);
+        }
+    }
+
+    public void load(Iterator<String> emails) {
+        while (emails.hasNext()) {
+            put(emails.next());
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private int bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer; the halves feed Kirsch-Mitzenmacher double hashing
+    private static long hash(String email) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,36 @@
+package com.candidatemanagement.cache;
+
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.repository.CandidateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Component
+public class CandidateEmailFilterLoader {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateEmailFilterLoader.class);
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateEmailFilter emailFilter;
+
+    public CandidateEmailFilterLoader(CandidateRepository candidateRepository, CandidateEmailFilter emailFilter) {
+        this.candidateRepository = candidateRepository;
+        this.emailFilter = emailFilter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEmails() {
+        try (Stream<Candidate> candidates = candidateRepository.findAllEmails()) {
+            emailFilter.load(candidates.map(Candidate::getEmail).filter(Objects::nonNull).iterator());
+            logger.info("Candidate email filter loaded");
+        } catch (Exception e) {
+            // The filter keeps answering "maybe", so duplicate checks fall back to Mongo
+            logger.warn("Could not load candidate email filter: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.candidatemanagement.cache;
+
+import com.candidatemanagement.config.CacheConfig;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.ChangeStreamToken;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.repository.ChangeStreamTokenRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node's near cache and email filter coherent with writes made by other nodes by following the
+ * {@code candidates} and {@code vacancies} change streams. The last seen resume token of each stream is persisted
+ * in {@code change_stream_tokens}, so a restart resumes where it stopped instead of dropping every cached entry.
+ * Requires a replica set; enable with {@code candidate-management.change-streams.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.change-streams", name = "enabled", havingValue = "true")
+public class EntityChangeStreamListener {
+    private static final Logger logger = LoggerFactory.getLogger(EntityChangeStreamListener.class);
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int INVALID_RESUME_TOKEN = 260;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamTokenRepository tokenRepository;
+    private final CacheManager cacheManager;
+    private final CandidateEmailFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tokenFlushInterval;
+    private final Duration retryDelay;
+
+    private final Map<String, BsonDocument> latestTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastFlushes = new ConcurrentHashMap<>();
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MessageListenerContainer container;
+
+    public EntityChangeStreamListener(
+            MongoTemplate mongoTemplate,
+            ChangeStreamTokenRepository tokenRepository,
+            CacheManager cacheManager,
+            CandidateEmailFilter emailFilter,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${candidate-management.change-streams.token-flush-interval:1s}") Duration tokenFlushInterval,
+            @Value("${candidate-management.change-streams.retry-delay:5s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.tokenRepository = tokenRepository;
+        this.cacheManager = cacheManager;
+        this.emailFilter = emailFilter;
+        this.eventPublisher = eventPublisher;
+        this.tokenFlushInterval = tokenFlushInterval;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.start();
+        subscribe(Candidate.COLLECTION, CacheConfig.CANDIDATES_CACHE, true);
+        subscribe(Vacancy.COLLECTION, CacheConfig.VACANCIES_CACHE, true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        retryScheduler.shutdownNow();
+        if (container != null) {
+            container.stop();
+        }
+        latestTokens.keySet().forEach(this::flushToken);
+    }
+
+    private void subscribe(String collection, String cacheName, boolean resume) {
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Document> builder = ChangeStreamRequest.builder(
+                        (Message<ChangeStreamDocument<Document>, Document> message) -> onChange(collection, cacheName, message))
+                .collection(collection)
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+
+        BsonDocument resumeToken = resume ? loadToken(collection) : null;
+        if (resumeToken != null) {
+            builder.resumeAfter(resumeToken);
+        } else {
+            // Without a usable token anything cached may be stale
+            clearCache(cacheName);
+            eventPublisher.publishEvent(new EntityChangedEvent(collection, null, false));
+        }
+
+        subscriptions.put(collection,
+                container.register(builder.build(), Document.class, error -> onError(collection, cacheName, error)));
+        logger.info("Watching change stream of {} ({})", collection, resumeToken != null ? "resumed" : "from now");
+    }
+
+    private void resubscribe(String collection, String cacheName, boolean resume) {
+        Subscription old = subscriptions.get(collection);
+        if (old != null) {
+            if (old.isActive()) {
+                return;
+            }
+            container.remove(old);
+        }
+        subscribe(collection, cacheName, resume);
+    }
+
+    private void onChange(String collection, String cacheName, Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null) {
+            return;
+        }
+
+        // A failing listener must not surface as a stream failure, which would tear down and resubscribe the cursor
+        try {
+            apply(collection, cacheName, change);
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply {} change to {}", change.getOperationType(), collection, e);
+        }
+
+        if (change.getResumeToken() != null) {
+            latestTokens.put(collection, change.getResumeToken());
+            Instant lastFlush = lastFlushes.getOrDefault(collection, Instant.EPOCH);
+            if (Duration.between(lastFlush, Instant.now()).compareTo(tokenFlushInterval) >= 0) {
+                flushToken(collection);
+            }
+        }
+    }
+
+    private void apply(String collection, String cacheName, ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        String id = documentId(change.getDocumentKey());
+        if (id == null || operation == OperationType.DROP || operation == OperationType.RENAME
+                || operation == OperationType.DROP_DATABASE || operation == OperationType.INVALIDATE) {
+            clearCache(cacheName);
+            eventPublisher.publishEvent(new EntityChangedEvent(collection, null, true));
+        } else {
+            evict(cacheName, id);
+            Document fullDocument = change.getFullDocument();
+            if (fullDocument != null && CacheConfig.CANDIDATES_CACHE.equals(cacheName)) {
+                emailFilter.put(fullDocument.getString("email"));
+            }
+            eventPublisher.publishEvent(new EntityChangedEvent(collection, id, operation == OperationType.DELETE));
+        }
+    }
+
+    private void onError(String collection, String cacheName, Throwable error) {
+        Subscription current = subscriptions.get(collection);
+        if (current != null && current.isActive()) {
+            // The cursor is still running; only a message could not be delivered
+            logger.warn("Change stream of {} could not deliver a change: {}", collection, error.getMessage());
+            return;
+        }
+
+        boolean historyLost = error instanceof MongoCommandException commandException
+                && (commandException.getErrorCode() == CHANGE_STREAM_HISTORY_LOST
+                    || commandException.getErrorCode() == INVALID_RESUME_TOKEN);
+        if (historyLost) {
+            logger.warn("Change stream history of {} is no longer available, restarting from now", collection);
+            tokenRepository.deleteById(collection);
+            latestTokens.remove(collection);
+        } else {
+            logger.warn("Change stream of {} failed, retrying in {}: {}", collection, retryDelay, error.getMessage());
+        }
+
+        if (!retryScheduler.isShutdown()) {
+            retryScheduler.schedule(() -> resubscribe(collection, cacheName, !historyLost),
+                    retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private BsonDocument loadToken(String collection) {
+        BsonDocument latest = latestTokens.get(collection);
+        if (latest != null) {
+            return latest;
+        }
+        return tokenRepository.findById(collection)
+                .map(token -> BsonDocument.parse(token.getResumeToken()))
+                .orElse(null);
+    }
+
+    private void flushToken(String collection) {
+        BsonDocument token = latestTokens.get(collection);
+        if (token == null) {
+            return;
+        }
+        try {
+            tokenRepository.save(new ChangeStreamToken(collection, token.toJson(), Instant.now()));
+            lastFlushes.put(collection, Instant.now());
+        } catch (Exception e) {
+            logger.warn("Could not persist change stream token of {}: {}", collection, e.getMessage());
+        }
+    }
+
+    private void evict(String cacheName, String id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static String documentId(BsonDocument documentKey) {
+        if (documentKey == null || !documentKey.containsKey("_id")) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.candidatemanagement.cache;
+
+/**
+ * Published for local writes by the service layer and for every change observed on the {@code candidates} and
+ * {@code vacancies} change streams, so in-memory structures can invalidate or update the affected entity. The same
+ * write may therefore be seen twice; consumers must be idempotent. A {@code null} id means the whole collection
+ * must be treated as changed (drop, rename or lost stream history).
+ */
+public record EntityChangedEvent(
+        String collection,
+        String id,
+        boolean deleted
+) {
+    public boolean isCollectionWide() {
+        return id == null;
+    }
+}
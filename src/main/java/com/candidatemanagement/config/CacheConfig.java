@@ -0,0 +1,17 @@
+package com.candidatemanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the read-through near cache in front of {@code CandidateRepository} and {@code VacancyRepository}.
+ * The cache manager itself (Caffeine, bounded by size and TTL) is configured under {@code spring.cache}
+ * in application.yml; hit/miss counts are published through the actuator {@code cache.gets} metric.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CANDIDATES_CACHE = "candidates";
+    public static final String VACANCIES_CACHE = "vacancies";
+}
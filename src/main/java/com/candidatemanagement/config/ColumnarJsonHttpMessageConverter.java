@@ -0,0 +1,147 @@
+package com.candidatemanagement.config;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Writes collections column by column: {@code {"id": [...], "name": [...], "score": [...]}} instead of one object
+ * per element, so field names are sent once per response rather than once per row. Rankings are written straight
+ * from their record components; other elements are mapped with the application {@link ObjectMapper} first, so the
+ * column values match the regular JSON representation, and a field missing from an element is written as
+ * {@code null} in its column. Selected with
+ * {@code Accept: application/vnd.candidate-management.columnar+json}.
+ */
+public class ColumnarJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    public static final MediaType COLUMNAR_JSON = new MediaType("application", "vnd.candidate-management.columnar+json");
+
+    // Column for elements that do not map to a JSON object
+    private static final String VALUE_COLUMN = "value";
+
+    private final ObjectMapper objectMapper;
+
+    public ColumnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> values, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            if (!values.isEmpty() && values.stream().allMatch(CandidateRankingDto.class::isInstance)) {
+                @SuppressWarnings("unchecked")
+                Collection<CandidateRankingDto> rankings = (Collection<CandidateRankingDto>) values;
+                writeRankings(rankings, generator);
+            } else {
+                writeTrees(values, generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    // Rankings are the bulk of columnar responses; their components are written without building a tree per row
+    private static void writeRankings(Collection<CandidateRankingDto> rankings, JsonGenerator generator) throws IOException {
+        writeNumbers(generator, "rank", rankings, CandidateRankingDto::rank);
+        writeStrings(generator, "id", rankings, CandidateRankingDto::id);
+        writeStrings(generator, "name", rankings, CandidateRankingDto::name);
+        writeStrings(generator, "email", rankings, CandidateRankingDto::email);
+        writeNumbers(generator, "score", rankings, CandidateRankingDto::score);
+    }
+
+    private static <T> void writeNumbers(JsonGenerator generator, String column, Collection<T> rows,
+                                         ToIntFunction<T> value) throws IOException {
+        generator.writeArrayFieldStart(column);
+        for (T row : rows) {
+            generator.writeNumber(value.applyAsInt(row));
+        }
+        generator.writeEndArray();
+    }
+
+    private static <T> void writeStrings(JsonGenerator generator, String column, Collection<T> rows,
+                                         Function<T, String> value) throws IOException {
+        generator.writeArrayFieldStart(column);
+        for (T row : rows) {
+            String cell = value.apply(row);
+            if (cell == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(cell);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeTrees(Collection<?> values, JsonGenerator generator) throws IOException {
+        List<JsonNode> rows = new ArrayList<>(values.size());
+        Set<String> columns = new LinkedHashSet<>();
+        for (Object value : values) {
+            JsonNode row = objectMapper.valueToTree(value);
+            rows.add(row);
+            if (row instanceof ObjectNode objectRow) {
+                objectRow.fieldNames().forEachRemaining(columns::add);
+            } else {
+                columns.add(VALUE_COLUMN);
+            }
+        }
+
+        for (String column : columns) {
+            generator.writeArrayFieldStart(column);
+            for (JsonNode row : rows) {
+                JsonNode cell = row instanceof ObjectNode ? row.get(column) : (VALUE_COLUMN.equals(column) ? row : null);
+                if (cell == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeTree(cell);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response-only encoding", inputMessage);
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response-only encoding", inputMessage);
+    }
+}
@@ -0,0 +1,51 @@
+package com.candidatemanagement.config;
+
+import com.candidatemanagement.instrumentation.MongoCommandRecorder;
+import com.candidatemanagement.instrumentation.RepositoryCallTagger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+
+/**
+ * Per-command Mongo latency metrics and a slow-operation log, attributed to the repository method and the
+ * application method that issued each command.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "candidate-management.mongo.instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MongoInstrumentationConfig {
+
+    @Bean
+    public MongoCommandRecorder mongoCommandRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${candidate-management.mongo.instrumentation.slow-operation-threshold:100ms}") Duration slowThreshold) {
+        return new MongoCommandRecorder(meterRegistry, slowThreshold);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandRecorderCustomizer(MongoCommandRecorder recorder) {
+        return settings -> settings.addCommandListener(recorder);
+    }
+
+    // Static so that it is registered before, and without initializing, the repositories it customizes
+    @Bean
+    public static BeanPostProcessor repositoryCallTagging() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryCallTagger(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
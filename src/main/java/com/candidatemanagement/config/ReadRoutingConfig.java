@@ -0,0 +1,59 @@
+package com.candidatemanagement.config;
+
+import com.candidatemanagement.routing.ReadRoutingInterceptor;
+import com.candidatemanagement.routing.RoutingMongoTemplate;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Routes the repository methods listed in {@code read-routing.methods} to secondaries with bounded staleness;
+ * everything else, including the reads of the update paths that must see their own writes, stays on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "candidate-management.read-routing", name = "enabled", havingValue = "true")
+public class ReadRoutingConfig {
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new RoutingMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    // Static so that it is registered before, and without initializing, the repositories it customizes
+    @Bean
+    public static BeanPostProcessor repositoryReadRouting(
+            @Value("${candidate-management.read-routing.mode:secondaryPreferred}") String mode,
+            @Value("${candidate-management.read-routing.max-staleness:90s}") Duration maxStaleness,
+            @Value("${candidate-management.read-routing.methods:}") String methods) {
+        ReadPreference readPreference = ReadPreference.valueOf(mode, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+        Set<String> routedMethods = Arrays.stream(methods.split(","))
+                .map(String::trim)
+                .filter(method -> !method.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new ReadRoutingInterceptor(
+                                    repositoryInformation.getRepositoryInterface(), routedMethods, readPreference))));
+                }
+                return bean;
+            }
+        };
+    }
+}
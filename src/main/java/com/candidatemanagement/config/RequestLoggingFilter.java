@@ -9,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -22,16 +21,15 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
 
+        // The response is not wrapped: async responses (rankings) are written after this filter has returned
         try {
-            chain.doFilter(wrappedRequest, wrappedResponse);
+            chain.doFilter(wrappedRequest, response);
         } finally {
             String requestBody = new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8);
             if (!requestBody.isEmpty()) {
                 logger.debug("Request body: {}", requestBody);
             }
-            wrappedResponse.copyBodyToResponse();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.candidatemanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Response encodings besides JSON, chosen through the {@code Accept} header:
+ * <ul>
+ *     <li>{@code application/cbor} - binary CBOR with the same structure as the JSON responses;</li>
+ *     <li>{@code application/vnd.candidate-management.columnar+json} - list responses as one array per field.</li>
+ * </ul>
+ * Requests without a specific {@code Accept} header keep getting JSON.
+ * <p>
+ * Async requests without a timeout of their own, which are the streamed CSV exports, time out after
+ * {@code export.timeout} rather than the container's default, so a large export is not cut off mid-body.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Duration exportTimeout;
+
+    public WebConfig(@Value("${candidate-management.export.timeout:0s}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.defaultContentType(MediaType.APPLICATION_JSON);
+    }
+
+    // Rankings set their own timeout from their deadline; a negative one tells the container not to time out
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeout.isZero() ? -1 : exportTimeout.toMillis());
+    }
+
+    // Built from Boot's builder so CBOR responses follow the same Jackson settings as JSON ones
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public ColumnarJsonHttpMessageConverter columnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ColumnarJsonHttpMessageConverter(objectMapper);
+    }
+}
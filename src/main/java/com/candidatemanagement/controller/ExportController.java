@@ -0,0 +1,90 @@
+package com.candidatemanagement.controller;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.exception.RetryLaterException;
+import com.candidatemanagement.service.CandidateRankingService;
+import com.candidatemanagement.service.export.CsvExportService;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * CSV exports, streamed to the client as they are written instead of being serialized from a list.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final CsvExportService csvExportService;
+    private final CandidateRankingService candidateRankingService;
+    private final RankingBulkhead rankingBulkhead;
+
+    public ExportController(
+            CsvExportService csvExportService,
+            CandidateRankingService candidateRankingService,
+            RankingBulkhead rankingBulkhead) {
+        this.csvExportService = csvExportService;
+        this.candidateRankingService = candidateRankingService;
+        this.rankingBulkhead = rankingBulkhead;
+    }
+
+    @GetMapping("/candidates/export")
+    public ResponseEntity<StreamingResponseBody> exportCandidates() {
+        return csv("candidates.csv", csvExportService::writeCandidates);
+    }
+
+    /**
+     * Ranks on the bulkhead first so that a missing vacancy or a refused ranking still gets its error status, then
+     * streams the ranking. A full ranking is merged from its spilled runs while it is written; writing closes it,
+     * and a ranking the request timed out or failed before it could be written is closed here instead.
+     */
+    @GetMapping("/vacancies/{vacancyId}/rank-candidates/export")
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> exportRanking(
+            @PathVariable String vacancyId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minScore) {
+        RankingQuery query = new RankingQuery(limit, minScore);
+        DeferredResult<ResponseEntity<StreamingResponseBody>> response = new DeferredResult<>();
+        CompletableFuture<Stream<CandidateRankingDto>> ranking = rankingBulkhead.submit(
+                () -> candidateRankingService.streamRankingForVacancy(vacancyId, query));
+        response.onTimeout(() -> {
+            response.setErrorResult(new RetryLaterException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Export Timed Out",
+                    "The ranking did not finish before the export timed out, retry later",
+                    rankingBulkhead.retryAfter()));
+            ranking.cancel(false);
+        });
+        response.onError(e -> ranking.cancel(false));
+        ranking.whenComplete((rankings, e) -> {
+            if (e != null) {
+                response.setErrorResult(e);
+            } else if (!response.setResult(csv("ranking-" + vacancyId + ".csv",
+                    out -> csvExportService.writeRankings(rankings, out)))) {
+                rankings.close();
+            }
+        });
+        return response;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
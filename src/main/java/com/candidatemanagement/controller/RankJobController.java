@@ -0,0 +1,47 @@
+package com.candidatemanagement.controller;
+
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.model.RankJob;
+import com.candidatemanagement.model.RankJobPage;
+import com.candidatemanagement.service.ranking.jobs.RankJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/vacancies/{vacancyId}/rank-jobs")
+@CrossOrigin(origins = "*")
+public class RankJobController {
+
+    private final RankJobService rankJobService;
+
+    public RankJobController(RankJobService rankJobService) {
+        this.rankJobService = rankJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RankJob> createRankJob(
+            @PathVariable String vacancyId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minScore) {
+        RankJob job = rankJobService.submit(vacancyId, new RankingQuery(limit, minScore));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RankJob> getRankJob(@PathVariable String vacancyId, @PathVariable String jobId) {
+        return new ResponseEntity<>(rankJobService.getJob(vacancyId, jobId), HttpStatus.OK);
+    }
+
+    @GetMapping("/{jobId}/results")
+    public ResponseEntity<RankJobPage> getRankJobResults(
+            @PathVariable String vacancyId,
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int page) {
+        return new ResponseEntity<>(rankJobService.getPage(vacancyId, jobId, page), HttpStatus.OK);
+    }
+}
@@ -1,27 +1,59 @@
 package com.candidatemanagement.controller;
 
 import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
 import com.candidatemanagement.dto.VacancyRequestDto;
+import com.candidatemanagement.exception.RetryLaterException;
 import com.candidatemanagement.model.Vacancy;
 import com.candidatemanagement.service.CandidateRankingService;
 import com.candidatemanagement.service.VacancyService;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import com.candidatemanagement.service.ranking.precompute.RankingPrecomputer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/vacancies")
 @CrossOrigin(origins = "*")
 public class VacancyController {
+
+    public static final String RANKING_FRESHNESS_HEADER = "X-Ranking-Freshness";
+    public static final String RANKING_COVERAGE_HEADER = "X-Ranking-Coverage";
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
     
     private final VacancyService vacancyService;
     private final CandidateRankingService candidateRankingService;
+    private final RankingBulkhead rankingBulkhead;
+    private final RankingPrecomputer rankingPrecomputer;
+    private final Duration gatewayTimeout;
+    private final Duration deadlineMargin;
 
-    public VacancyController(VacancyService vacancyService, CandidateRankingService candidateRankingService) {
+    public VacancyController(
+            VacancyService vacancyService,
+            CandidateRankingService candidateRankingService,
+            RankingBulkhead rankingBulkhead,
+            ObjectProvider<RankingPrecomputer> rankingPrecomputer,
+            @Value("${candidate-management.ranking.deadline.gateway-timeout:0s}") Duration gatewayTimeout,
+            @Value("${candidate-management.ranking.deadline.margin:250ms}") Duration deadlineMargin) {
         this.vacancyService = vacancyService;
         this.candidateRankingService = candidateRankingService;
+        this.rankingBulkhead = rankingBulkhead;
+        this.rankingPrecomputer = rankingPrecomputer.getIfAvailable();
+        this.gatewayTimeout = gatewayTimeout;
+        this.deadlineMargin = deadlineMargin;
     }
     
     @PostMapping
@@ -55,9 +87,86 @@ public class VacancyController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
     
+    /**
+     * Serves the precomputed ranking when one can answer the query, otherwise ranks on the bulkhead's pool so the
+     * request thread is released while the ranking waits or runs. {@code X-Ranking-Freshness} tells which it was:
+     * {@code fresh} or {@code stale} (precomputed, with its {@code Age}), {@code live}, or {@code partial} when the
+     * deadline cut the live ranking short, with the percentage of the pool it covers in {@code X-Ranking-Coverage}.
+     * The deadline is the earlier of the caller's {@code X-Request-Timeout-Ms} and the gateway timeout, less a margin
+     * for writing the response. The request times out with the deadline's margin spent, answering 503 and giving up
+     * the ranking if it is still queued; without a deadline it waits for the ranking however long it takes.
+     */
     @GetMapping("/{vacancyId}/rank-candidates")
-    public ResponseEntity<List<CandidateRankingDto>> rankCandidatesForVacancy(@PathVariable String vacancyId) {
-        List<CandidateRankingDto> rankedCandidates = candidateRankingService.rankCandidatesForVacancy(vacancyId);
-        return new ResponseEntity<>(rankedCandidates, HttpStatus.OK);
+    public DeferredResult<ResponseEntity<List<CandidateRankingDto>>> rankCandidatesForVacancy(
+            @PathVariable String vacancyId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minScore,
+            @RequestHeader(name = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Instant deadline = deadline(timeoutMillis);
+        RankingQuery query = new RankingQuery(limit, minScore);
+        Optional<RankingPrecomputer.PrecomputedResult> precomputed = rankingPrecomputer == null
+                ? Optional.empty()
+                : rankingPrecomputer.lookup(vacancyId, query);
+        DeferredResult<ResponseEntity<List<CandidateRankingDto>>> response = new DeferredResult<>(asyncTimeout(deadline));
+        if (precomputed.isPresent()) {
+            RankingPrecomputer.PrecomputedResult result = precomputed.get();
+            long age = Math.max(0, Duration.between(result.computedAt(), Instant.now()).toSeconds());
+            response.setResult(ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, String.valueOf(age))
+                    .header(RANKING_FRESHNESS_HEADER, result.fresh() ? "fresh" : "stale")
+                    .body(result.rankings()));
+            return response;
+        }
+
+        CompletableFuture<RankingResult> ranking =
+                candidateRankingService.submitRanking(vacancyId, query, deadline, rankingBulkhead);
+        response.onTimeout(() -> {
+            // The error goes first: cancelling completes the future, which would otherwise answer with the cancellation
+            response.setErrorResult(new RetryLaterException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Ranking Timed Out",
+                    "The ranking did not finish before the request timed out, retry later",
+                    rankingBulkhead.retryAfter()));
+            ranking.cancel(false);
+        });
+        ranking.whenComplete((result, e) -> {
+            if (e == null) {
+                response.setResult(rankingResponse(result));
+            } else {
+                response.setErrorResult(e);
+            }
+        });
+        return response;
+    }
+
+    private static ResponseEntity<List<CandidateRankingDto>> rankingResponse(RankingResult result) {
+        if (!result.partial()) {
+            return ResponseEntity.ok()
+                    .header(RANKING_FRESHNESS_HEADER, "live")
+                    .body(result.rankings());
+        }
+        return ResponseEntity.ok()
+                .header(RANKING_FRESHNESS_HEADER, "partial")
+                .header(RANKING_COVERAGE_HEADER, String.format(Locale.ROOT, "%.1f", result.coverage()))
+                .body(result.rankings());
+    }
+
+    // Until the deadline's margin is spent too; a negative timeout tells the container not to time the request out
+    private long asyncTimeout(Instant deadline) {
+        if (deadline == null) {
+            return -1;
+        }
+        return Math.max(1, Duration.between(Instant.now(), deadline.plus(deadlineMargin)).toMillis());
+    }
+
+    // Measured from the request's arrival, so time queued on the bulkhead counts against it
+    private Instant deadline(Long timeoutMillis) {
+        Instant now = Instant.now();
+        Instant deadline = timeoutMillis != null && timeoutMillis > 0 ? now.plusMillis(timeoutMillis) : null;
+        if (!gatewayTimeout.isZero()) {
+            Instant gatewayDeadline = now.plus(gatewayTimeout);
+            deadline = deadline == null || gatewayDeadline.isBefore(deadline) ? gatewayDeadline : deadline;
+        }
+        return deadline == null ? null : deadline.minus(deadlineMargin);
     }
 }
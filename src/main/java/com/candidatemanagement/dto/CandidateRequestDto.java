@@ -1,8 +1,11 @@
 package com.candidatemanagement.dto;
 
+import com.candidatemanagement.accessor.GenerateAccessors;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@GenerateAccessors
 public record CandidateRequestDto(
     String name,
     String email,
@@ -0,0 +1,10 @@
+package com.candidatemanagement.dto;
+
+public record CriterionStatisticsDto(
+        String criterion,
+        long evaluations,
+        long matches,
+        double matchRate,
+        double averageNanos,
+        String access
+) {}
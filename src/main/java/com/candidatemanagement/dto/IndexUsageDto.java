@@ -0,0 +1,12 @@
+package com.candidatemanagement.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record IndexUsageDto(
+        String name,
+        List<String> fields,
+        boolean managed,
+        long accesses,
+        Instant since
+) {}
@@ -0,0 +1,38 @@
+package com.candidatemanagement.dto;
+
+/**
+ * Optional parameters of a ranking request. A {@code null} limit asks for the full ranking; a {@code null}
+ * minScore keeps candidates of every score.
+ */
+public record RankingQuery(
+    Integer limit,
+    Integer minScore
+) {
+    public RankingQuery {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (minScore != null && minScore < 0) {
+            throw new IllegalArgumentException("minScore must not be negative");
+        }
+    }
+
+    public RankingQuery(Integer limit) {
+        this(limit, null);
+    }
+
+    public static RankingQuery unlimited() {
+        return new RankingQuery(null, null);
+    }
+
+    public int effectiveLimit() {
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
+
+    /**
+     * Scores are never negative, so without a threshold every candidate qualifies.
+     */
+    public int effectiveMinScore() {
+        return minScore == null ? 0 : minScore;
+    }
+}
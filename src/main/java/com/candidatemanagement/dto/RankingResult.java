@@ -0,0 +1,22 @@
+package com.candidatemanagement.dto;
+
+import java.util.List;
+
+/**
+ * A ranking that may have been cut short by its deadline. A partial ranking holds the best candidates among the
+ * {@code coverage} percent of the pool that was scored in time.
+ */
+public record RankingResult(
+    List<CandidateRankingDto> rankings,
+    boolean partial,
+    double coverage
+) {
+    public static RankingResult complete(List<CandidateRankingDto> rankings) {
+        return new RankingResult(rankings, false, 100);
+    }
+
+    public static RankingResult partial(List<CandidateRankingDto> rankings, long scored, long total) {
+        double coverage = total <= 0 ? 100 : Math.min(100, 100.0 * scored / total);
+        return new RankingResult(rankings, true, coverage);
+    }
+}
@@ -1,10 +1,12 @@
 package com.candidatemanagement.dto;
 
+import com.candidatemanagement.accessor.GenerateAccessors;
 import com.candidatemanagement.model.criteria.Criterion;
 
 import java.math.BigDecimal;
 import java.util.Set;
 
+@GenerateAccessors
 public record VacancyRequestDto(
     String name,
     Set<Criterion> criteria
@@ -0,0 +1,25 @@
+package com.candidatemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Status and title of a routine API error, allocated once and shared by every {@link BusinessException} raised
+ * for it; only the message differs between occurrences.
+ */
+public record ApiErrorTemplate(HttpStatus status, String title) {
+
+    public static final ApiErrorTemplate CANDIDATE_NOT_FOUND = new ApiErrorTemplate(HttpStatus.NOT_FOUND, "Resource Not Found");
+    public static final ApiErrorTemplate DUPLICATE_EMAIL = new ApiErrorTemplate(HttpStatus.CONFLICT, "Duplicate Email");
+    public static final ApiErrorTemplate VACANCY_NOT_FOUND = new ApiErrorTemplate(HttpStatus.NOT_FOUND, "Vacancy Not Found");
+    public static final ApiErrorTemplate RANK_JOB_NOT_FOUND = new ApiErrorTemplate(HttpStatus.NOT_FOUND, "Rank Job Not Found");
+    public static final ApiErrorTemplate RESULTS_NOT_READY = new ApiErrorTemplate(HttpStatus.CONFLICT, "Results Not Ready");
+    public static final ApiErrorTemplate PAGE_NOT_FOUND = new ApiErrorTemplate(HttpStatus.NOT_FOUND, "Page Not Found");
+
+    public BusinessException exception(String message) {
+        return new BusinessException(this, message);
+    }
+
+    public BusinessException exception(String message, Throwable cause) {
+        return new BusinessException(this, message, cause);
+    }
+}
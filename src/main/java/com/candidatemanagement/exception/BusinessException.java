@@ -0,0 +1,17 @@
+package com.candidatemanagement.exception;
+
+/**
+ * An expected outcome of a request, like a missing resource or a conflicting write, rather than a failure. It is
+ * created without a stack trace: the client only ever sees its {@link ApiErrorTemplate} and message, and filling in
+ * the trace of every probing 404 is what made these exceptions expensive.
+ */
+public class BusinessException extends GenericApiException {
+
+    public BusinessException(ApiErrorTemplate template, String message) {
+        this(template, message, null);
+    }
+
+    public BusinessException(ApiErrorTemplate template, String message, Throwable cause) {
+        super(template.status(), template.title(), message, cause, false);
+    }
+}
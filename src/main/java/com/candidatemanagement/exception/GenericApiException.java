@@ -16,7 +16,12 @@ public class GenericApiException extends RuntimeException {
     }
 
     public GenericApiException(HttpStatus status, String title, String message, Throwable cause) {
-        super(message, cause);
+        this(status, title, message, cause, true);
+    }
+
+    protected GenericApiException(HttpStatus status, String title, String message, Throwable cause,
+                                  boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
         this.status = status;
         this.title = title;
         this.message = message;
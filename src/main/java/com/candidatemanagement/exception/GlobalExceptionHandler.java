@@ -1,5 +1,6 @@
 package com.candidatemanagement.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -40,8 +41,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, ex.getStatus());
     }
 
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<ApiError> handleRetryLaterException(RetryLaterException ex) {
+        ApiError apiError = new ApiError(
+                ex.getStatus(),
+                ex.getTitle(),
+                ex.getMessage()
+        );
+        // Retry-After takes whole seconds; round up so clients never come back early
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(apiError);
+    }
+
+    // The only errors worth a stack trace; expected ones are raised as stackless BusinessExceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericException(Exception ex) {
+        logger.error("Unexpected failure", ex);
         ApiError apiError = new ApiError(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "Server Error",
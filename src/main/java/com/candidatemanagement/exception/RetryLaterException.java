@@ -0,0 +1,24 @@
+package com.candidatemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * A request refused for lack of capacity; answered with a {@code Retry-After} header. Like a
+ * {@link BusinessException} it carries no stack trace, since it is raised most often exactly when the service is
+ * busiest.
+ */
+public class RetryLaterException extends GenericApiException {
+
+    private final Duration retryAfter;
+
+    public RetryLaterException(HttpStatus status, String title, String message, Duration retryAfter) {
+        super(status, title, message, null, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
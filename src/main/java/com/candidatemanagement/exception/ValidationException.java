@@ -5,8 +5,9 @@ import java.util.List;
 public class ValidationException extends RuntimeException {
     private final List<FieldError> errors;
 
+    // Rejected input is routine, so no stack trace is captured for it
     public ValidationException(List<FieldError> errors) {
-        super("Validation failed");
+        super("Validation failed", null, true, false);
         this.errors = errors;
     }
 
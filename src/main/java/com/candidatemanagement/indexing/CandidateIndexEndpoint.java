@@ -0,0 +1,30 @@
+package com.candidatemanagement.indexing;
+
+import com.candidatemanagement.dto.IndexUsageDto;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/candidateindexes}: every index on the candidates collection, whether it is managed from the
+ * vacancies' criteria, and how often it has been used.
+ */
+@Component
+@Endpoint(id = "candidateindexes")
+@ConditionalOnProperty(prefix = "candidate-management.indexes", name = "enabled", havingValue = "true")
+public class CandidateIndexEndpoint {
+
+    private final CandidateIndexManager indexManager;
+
+    public CandidateIndexEndpoint(CandidateIndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    @ReadOperation
+    public List<IndexUsageDto> indexes() {
+        return indexManager.usage();
+    }
+}
@@ -0,0 +1,232 @@
+package com.candidatemanagement.indexing;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.dto.IndexUsageDto;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.service.VacancyService;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the candidate indexes that the stored vacancies' criteria can use. Every criterion on an indexable field
+ * gets a single-field index, and every vacancy with several of them a compound index that puts its equality
+ * (enumeration) fields first and its heaviest range field last. Single-field indexes that are a prefix of a compound
+ * one are left out, and at most {@code max-indexes} are kept, the most shared first.
+ * <p>
+ * Indexes are built in the background after startup and again {@code refresh-delay} after vacancies change. Only
+ * indexes named with the {@code criteria_} prefix are managed: they are created when recommended and dropped when
+ * no longer recommended. Other indexes, such as the unique email index, are never touched.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.indexes", name = "enabled", havingValue = "true")
+public class CandidateIndexManager {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateIndexManager.class);
+
+    static final String MANAGED_PREFIX = "criteria_";
+
+    // Criterion names (case-insensitive) that are answered by a stored candidate field
+    private static final Map<String, String> INDEXABLE_FIELDS = Map.of(
+            "gender", "gender",
+            "currentsalary", "currentSalary",
+            "birthdate", "birthdate",
+            "age", "birthdate");
+
+    /** A recommended index on candidate fields, in key order. */
+    public record IndexSpec(List<String> fields) {
+        public String name() {
+            return MANAGED_PREFIX + String.join("_", fields);
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final VacancyService vacancyService;
+    private final int maxIndexes;
+    private final Duration refreshDelay;
+
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "candidate-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CandidateIndexManager(
+            MongoTemplate mongoTemplate,
+            VacancyService vacancyService,
+            @Value("${candidate-management.indexes.max-indexes:8}") int maxIndexes,
+            @Value("${candidate-management.indexes.refresh-delay:30s}") Duration refreshDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.vacancyService = vacancyService;
+        this.maxIndexes = maxIndexes;
+        this.refreshDelay = refreshDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduleRefresh(Duration.ZERO);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (Vacancy.COLLECTION.equals(event.collection())) {
+            scheduleRefresh(refreshDelay);
+        }
+    }
+
+    /**
+     * Creates the recommended indexes that are missing and drops managed indexes no longer recommended.
+     */
+    public void refresh() {
+        List<IndexSpec> recommended = recommend(vacancyService.getAllVacancies(), maxIndexes);
+        IndexOperations indexOps = mongoTemplate.indexOps(Candidate.class);
+
+        Set<String> existing = new LinkedHashSet<>();
+        indexOps.getIndexInfo().forEach(info -> existing.add(info.getName()));
+        Set<String> wanted = new LinkedHashSet<>();
+        for (IndexSpec spec : recommended) {
+            wanted.add(spec.name());
+            if (!existing.contains(spec.name())) {
+                Index index = new Index().named(spec.name()).background();
+                spec.fields().forEach(field -> index.on(field, Sort.Direction.ASC));
+                indexOps.ensureIndex(index);
+                logger.info("Created candidate index {}", spec.name());
+            }
+        }
+        for (String name : existing) {
+            if (name.startsWith(MANAGED_PREFIX) && !wanted.contains(name)) {
+                indexOps.dropIndex(name);
+                logger.info("Dropped candidate index {}", name);
+            }
+        }
+    }
+
+    /**
+     * Every index on the candidates collection with the operations it has served since {@code since}, as reported by
+     * {@code $indexStats} on the node that answers.
+     */
+    public List<IndexUsageDto> usage() {
+        Map<String, Document> stats = new HashMap<>();
+        mongoTemplate.getCollection(Candidate.COLLECTION)
+                .aggregate(List.of(new Document("$indexStats", new Document())))
+                .forEach(document -> stats.put(document.getString("name"), document.get("accesses", Document.class)));
+
+        List<IndexUsageDto> usage = new ArrayList<>();
+        for (IndexInfo info : mongoTemplate.indexOps(Candidate.class).getIndexInfo()) {
+            Document accesses = stats.get(info.getName());
+            Number ops = accesses == null ? null : accesses.get("ops", Number.class);
+            Date since = accesses == null ? null : accesses.getDate("since");
+            usage.add(new IndexUsageDto(
+                    info.getName(),
+                    info.getIndexFields().stream().map(IndexField::getKey).toList(),
+                    info.getName().startsWith(MANAGED_PREFIX),
+                    ops == null ? 0 : ops.longValue(),
+                    since == null ? null : since.toInstant()));
+        }
+        return usage;
+    }
+
+    /**
+     * The indexes the given vacancies' criteria can use, most shared first.
+     */
+    public static List<IndexSpec> recommend(List<Vacancy> vacancies, int maxIndexes) {
+        Map<IndexSpec, Integer> compounds = new LinkedHashMap<>();
+        Map<IndexSpec, Integer> singles = new LinkedHashMap<>();
+        for (Vacancy vacancy : vacancies) {
+            List<String> fields = indexFields(vacancy);
+            if (fields.size() > 1) {
+                compounds.merge(new IndexSpec(fields), 1, Integer::sum);
+            }
+            new LinkedHashSet<>(fields).forEach(field -> singles.merge(new IndexSpec(List.of(field)), 1, Integer::sum));
+        }
+        singles.keySet().removeIf(single -> compounds.keySet().stream()
+                .anyMatch(compound -> compound.fields().get(0).equals(single.fields().get(0))));
+
+        Map<IndexSpec, Integer> all = new LinkedHashMap<>(compounds);
+        all.putAll(singles);
+        return all.entrySet().stream()
+                .sorted(Map.Entry.<IndexSpec, Integer>comparingByValue().reversed())
+                .limit(maxIndexes)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Equality fields first (heaviest first), then the heaviest range field, which an index can only use last
+    private static List<String> indexFields(Vacancy vacancy) {
+        if (vacancy.getCriteria() == null) {
+            return List.of();
+        }
+        List<Criterion> indexable = vacancy.getCriteria().stream()
+                .filter(criterion -> criterion.getName() != null && criterion.getDetails() != null)
+                .filter(criterion -> INDEXABLE_FIELDS.containsKey(criterion.getName().toLowerCase(Locale.ROOT)))
+                .sorted(Comparator.comparingInt(Criterion::getWeight).reversed()
+                        .thenComparing(Criterion::getName))
+                .toList();
+
+        Set<String> fields = new LinkedHashSet<>();
+        indexable.stream()
+                .filter(criterion -> Criterion.CriterionType.ENUMERATION.name().equals(criterion.getDetails().getType()))
+                .forEach(criterion -> fields.add(field(criterion)));
+        indexable.stream()
+                .filter(criterion -> Criterion.CriterionType.RANGE.name().equals(criterion.getDetails().getType()))
+                .map(CandidateIndexManager::field)
+                .filter(field -> !fields.contains(field))
+                .findFirst()
+                .ifPresent(fields::add);
+        return List.copyOf(fields);
+    }
+
+    private static String field(Criterion criterion) {
+        return INDEXABLE_FIELDS.get(criterion.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.schedule(() -> {
+            refreshScheduled.set(false);
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                logger.warn("Candidate index maintenance failed: {}", e.getMessage());
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
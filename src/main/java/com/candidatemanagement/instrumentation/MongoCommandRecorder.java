@@ -0,0 +1,236 @@
+package com.candidatemanagement.instrumentation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency, documents returned and reply size of every Mongo command as Micrometer meters
+ * ({@code candidate.mongo.commands}, {@code candidate.mongo.documents}, {@code candidate.mongo.bytes}) tagged with
+ * the command, collection, and the repository method and application method that issued it; latency is also tagged
+ * with the server that answered, which shows where read routing sent each command. Commands slower than
+ * {@code slow-operation-threshold} are logged with the shape of their filter, values replaced by {@code ?}.
+ * <p>
+ * Cursors opened by a tagged call keep its tag for their {@code getMore}s, which run after the repository method
+ * has returned its stream. A tag is dropped once its cursor is exhausted, killed or fails, and in any case after
+ * the server's idle cursor timeout, so cursors abandoned without either never pile up.
+ */
+public class MongoCommandRecorder implements CommandListener {
+    private static final Logger logger = LoggerFactory.getLogger(MongoCommandRecorder.class);
+
+    static final String UNTAGGED = "other";
+    private static final int MAX_SHAPE_LENGTH = 300;
+    // The server's default cursorTimeoutMillis: an idle cursor is closed after this, so its tag is no longer needed
+    private static final Duration CURSOR_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Set<String> SHAPED_COMMANDS = Set.of(
+            "find", "count", "distinct", "findAndModify", "aggregate", "update", "delete");
+
+    private record Started(String command, String collection, String server, RepositoryCallTagger.Tag tag, String shape,
+                           long cursorId) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowThreshold;
+    private final Map<Integer, Started> started = new ConcurrentHashMap<>();
+    private final Cache<Long, RepositoryCallTagger.Tag> cursorTags = Caffeine.newBuilder()
+            .expireAfterAccess(CURSOR_IDLE_TIMEOUT)
+            .build();
+
+    public MongoCommandRecorder(MeterRegistry meterRegistry, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String name = event.getCommandName();
+        RepositoryCallTagger.Tag tag = RepositoryCallTagger.current().orElse(null);
+        long cursorId = 0;
+        if ("getMore".equals(name)) {
+            cursorId = command.getInt64("getMore").getValue();
+            RepositoryCallTagger.Tag cursorTag = cursorTags.getIfPresent(cursorId);
+            tag = cursorTag != null ? cursorTag : tag;
+        } else if ("killCursors".equals(name) && command.isArray("cursors")) {
+            command.getArray("cursors").forEach(id -> cursorTags.invalidate(id.asInt64().getValue()));
+        }
+        // The command's buffer is released after this event, so nothing of it may be kept but these strings
+        started.put(event.getRequestId(), new Started(name, collection(command, name),
+                event.getConnectionDescription().getServerAddress().toString(), tag,
+                SHAPED_COMMANDS.contains(name) ? filterShape(name, command) : null, cursorId));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started command = started.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        BsonDocument reply = event.getResponse();
+        trackCursor(command, reply);
+        record(command, event.getElapsedTime(TimeUnit.NANOSECONDS), documents(reply), bytes(reply), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Started command = started.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        if (command.cursorId() != 0) {
+            // The driver does not retry a failed getMore; the cursor is abandoned
+            cursorTags.invalidate(command.cursorId());
+        }
+        record(command, event.getElapsedTime(TimeUnit.NANOSECONDS), 0, 0, "failure");
+    }
+
+    private void record(Started command, long nanos, long documents, long bytes, String outcome) {
+        RepositoryCallTagger.Tag tag = command.tag();
+        Tags tags = Tags.of(
+                "command", command.command(),
+                "collection", command.collection(),
+                "caller", tag == null ? UNTAGGED : tag.caller(),
+                "repository", tag == null ? UNTAGGED : tag.repositoryMethod());
+        Timer.builder("candidate.mongo.commands").tags(tags).tag("server", command.server()).tag("outcome", outcome)
+                .register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("candidate.mongo.documents").tags(tags).register(meterRegistry).record(documents);
+        DistributionSummary.builder("candidate.mongo.bytes").baseUnit("bytes").tags(tags)
+                .register(meterRegistry).record(bytes);
+
+        if (nanos >= slowThreshold.toNanos()) {
+            logger.warn("Slow Mongo {} on {} took {} ms ({} documents, {} bytes) from {} via {}: {}",
+                    command.command(), command.collection(), TimeUnit.NANOSECONDS.toMillis(nanos), documents, bytes,
+                    tag == null ? UNTAGGED : tag.caller(), tag == null ? UNTAGGED : tag.repositoryMethod(),
+                    command.shape() == null ? "-" : command.shape());
+        }
+    }
+
+    private void trackCursor(Started command, BsonDocument reply) {
+        if (command.tag() == null || !reply.isDocument("cursor")) {
+            return;
+        }
+        long cursorId = reply.getDocument("cursor").getInt64("id").getValue();
+        if (cursorId != 0) {
+            cursorTags.put(cursorId, command.tag());
+        } else if (command.cursorId() != 0) {
+            // The cursor is exhausted
+            cursorTags.invalidate(command.cursorId());
+        }
+    }
+
+    private static String collection(BsonDocument command, String name) {
+        BsonValue target = "getMore".equals(name) ? command.get("collection") : command.get(name);
+        return target != null && target.isString() ? target.asString().getValue() : "-";
+    }
+
+    /**
+     * The command's filter with field names and operators kept and every value replaced by {@code ?}.
+     */
+    public static String filterShape(String name, BsonDocument command) {
+        BsonValue filter = switch (name) {
+            case "find" -> command.get("filter");
+            case "count", "distinct", "findAndModify" -> command.get("query");
+            case "aggregate" -> command.get("pipeline");
+            case "update" -> first(command, "updates", "q");
+            case "delete" -> first(command, "deletes", "q");
+            default -> null;
+        };
+        if (filter == null) {
+            return "{}";
+        }
+        StringBuilder shape = new StringBuilder();
+        appendShape(filter, shape);
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape.toString();
+    }
+
+    private static BsonValue first(BsonDocument command, String statements, String field) {
+        if (!command.isArray(statements) || command.getArray(statements).isEmpty()) {
+            return null;
+        }
+        BsonValue statement = command.getArray(statements).get(0);
+        return statement.isDocument() ? statement.asDocument().get(field) : null;
+    }
+
+    // Keeps field names and operators, replaces every value with ?
+    private static void appendShape(BsonValue value, StringBuilder shape) {
+        if (shape.length() > MAX_SHAPE_LENGTH) {
+            return;
+        }
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    shape.append(", ");
+                }
+                first = false;
+                shape.append(entry.getKey()).append(": ");
+                appendShape(entry.getValue(), shape);
+            }
+            shape.append('}');
+        } else if (value.isArray() && !value.asArray().isEmpty() && value.asArray().get(0).isDocument()) {
+            BsonArray array = value.asArray();
+            shape.append('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) {
+                    shape.append(", ");
+                }
+                appendShape(array.get(i), shape);
+            }
+            shape.append(']');
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static long documents(BsonDocument reply) {
+        if (reply.isDocument("cursor")) {
+            BsonDocument cursor = reply.getDocument("cursor");
+            BsonValue batch = cursor.containsKey("firstBatch") ? cursor.get("firstBatch") : cursor.get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        if (reply.containsKey("value")) {
+            return reply.get("value").isNull() ? 0 : 1;
+        }
+        BsonValue n = reply.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+    }
+
+    // Replies straight off the wire are read by their length prefix instead of being encoded again
+    private static long bytes(BsonDocument reply) {
+        BsonReader reader = reply.asBsonReader();
+        try {
+            if (reader instanceof BsonBinaryReader binaryReader) {
+                return binaryReader.getBsonInput().readInt32();
+            }
+        } finally {
+            reader.close();
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), reply, EncoderContext.builder().build());
+        return buffer.getSize();
+    }
+}
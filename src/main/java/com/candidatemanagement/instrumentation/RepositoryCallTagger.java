@@ -0,0 +1,68 @@
+package com.candidatemanagement.instrumentation;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Optional;
+
+/**
+ * Added to every Spring Data repository proxy: while a repository method runs, the Mongo commands it issues on this
+ * thread are tagged with the repository method and the application method that called it. The caller is found by a
+ * stack walk once per repository call, not once per command.
+ */
+public class RepositoryCallTagger implements MethodInterceptor {
+
+    private static final String APPLICATION_PACKAGE = "com.candidatemanagement.";
+    private static final String REPOSITORY_PACKAGE = "com.candidatemanagement.repository.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final ThreadLocal<Tag> CURRENT = new ThreadLocal<>();
+
+    /** Where a Mongo command came from: {@code CandidateServiceImpl.getAllCandidates} via {@code CandidateRepository.findAll}. */
+    public record Tag(String caller, String repositoryMethod) {}
+
+    private final String repositoryName;
+
+    public RepositoryCallTagger(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    public static Optional<Tag> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tag previous = CURRENT.get();
+        if (previous != null) {
+            // A repository calling another (e.g. a custom fragment) keeps the outermost tag
+            return invocation.proceed();
+        }
+        CURRENT.set(new Tag(caller(), repositoryName + "." + invocation.getMethod().getName()));
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    // The nearest application frame outside the repositories, this package and generated proxies
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> {
+                    String className = frame.getClassName();
+                    return className.startsWith(APPLICATION_PACKAGE)
+                            && !className.startsWith(REPOSITORY_PACKAGE)
+                            && !className.startsWith(RepositoryCallTagger.class.getPackageName())
+                            && !className.contains("$$");
+                })
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simple.indexOf('$');
+        return nested < 0 ? simple : simple.substring(0, nested);
+    }
+}
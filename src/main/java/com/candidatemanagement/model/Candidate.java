@@ -1,5 +1,6 @@
 package com.candidatemanagement.model;
 
+import com.candidatemanagement.accessor.GenerateAccessors;
 import com.candidatemanagement.model.criteria.Criteria;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -9,8 +10,11 @@ import com.candidatemanagement.enums.Gender;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-@Document(collection = "candidates")
+@Document(collection = Candidate.COLLECTION)
+@GenerateAccessors
 public class Candidate extends Criteria {
+
+    public static final String COLLECTION = "candidates";
     
     @Id
     private String id;
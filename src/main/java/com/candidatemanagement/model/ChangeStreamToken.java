@@ -0,0 +1,47 @@
+package com.candidatemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "change_stream_tokens")
+public class ChangeStreamToken {
+
+    @Id
+    private String id;
+
+    private String resumeToken;
+
+    private Instant updatedAt;
+
+    public ChangeStreamToken(String id, String resumeToken, Instant updatedAt) {
+        this.id = id;
+        this.resumeToken = resumeToken;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
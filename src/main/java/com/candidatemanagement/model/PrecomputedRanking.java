@@ -0,0 +1,96 @@
+package com.candidatemanagement.model;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The top of a vacancy's full ranking, computed in the background. {@code complete} is set when the stored list
+ * holds every ranked candidate; {@code invalidatedAt} is the latest write any node saw after which it may be stale.
+ */
+@Document(collection = PrecomputedRanking.COLLECTION)
+public class PrecomputedRanking {
+
+    public static final String COLLECTION = "precomputed_rankings";
+
+    @Id
+    private String id;
+
+    private List<CandidateRankingDto> rankings;
+
+    private boolean complete;
+
+    private Instant computedAt;
+
+    private Instant invalidatedAt;
+
+    private double readScore;
+
+    public PrecomputedRanking() {
+    }
+
+    public PrecomputedRanking(String id, List<CandidateRankingDto> rankings, boolean complete, Instant computedAt) {
+        this.id = id;
+        this.rankings = rankings;
+        this.complete = complete;
+        this.computedAt = computedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<CandidateRankingDto> getRankings() {
+        return rankings;
+    }
+
+    public void setRankings(List<CandidateRankingDto> rankings) {
+        this.rankings = rankings;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public Instant getInvalidatedAt() {
+        return invalidatedAt;
+    }
+
+    public void setInvalidatedAt(Instant invalidatedAt) {
+        this.invalidatedAt = invalidatedAt;
+    }
+
+    public double getReadScore() {
+        return readScore;
+    }
+
+    public void setReadScore(double readScore) {
+        this.readScore = readScore;
+    }
+
+    /**
+     * Whether no write seen by any node since the computation has been reported yet.
+     */
+    public boolean isCurrent() {
+        return computedAt != null && (invalidatedAt == null || !invalidatedAt.isAfter(computedAt));
+    }
+}
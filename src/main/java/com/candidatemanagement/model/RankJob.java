@@ -0,0 +1,183 @@
+package com.candidatemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous ranking of a vacancy. Its results are stored as {@link RankJobPage}s of {@code pageSize} rankings
+ * each; {@code pagesWritten} grows while the job writes them, and {@code total} is set once it has succeeded. Jobs
+ * and their pages are removed by Mongo once {@code expiresAt} has passed.
+ */
+@Document(collection = RankJob.COLLECTION)
+public class RankJob {
+
+    public static final String COLLECTION = "rank_jobs";
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    @Id
+    private String id;
+
+    private String vacancyId;
+
+    private Integer limit;
+
+    private Integer minScore;
+
+    private Status status;
+
+    private int pageSize;
+
+    private int pagesWritten;
+
+    private Long total;
+
+    private String error;
+
+    private String nodeId;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    public RankJob() {
+    }
+
+    public RankJob(String vacancyId, Integer limit, Integer minScore, int pageSize, String nodeId,
+                   Instant createdAt, Instant expiresAt) {
+        this.vacancyId = vacancyId;
+        this.limit = limit;
+        this.minScore = minScore;
+        this.status = Status.QUEUED;
+        this.pageSize = pageSize;
+        this.nodeId = nodeId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getVacancyId() {
+        return vacancyId;
+    }
+
+    public void setVacancyId(String vacancyId) {
+        this.vacancyId = vacancyId;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Integer getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(Integer minScore) {
+        this.minScore = minScore;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getPagesWritten() {
+        return pagesWritten;
+    }
+
+    public void setPagesWritten(int pagesWritten) {
+        this.pagesWritten = pagesWritten;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
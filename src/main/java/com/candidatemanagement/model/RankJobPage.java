@@ -0,0 +1,85 @@
+package com.candidatemanagement.model;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of a {@link RankJob}'s results, keyed by {@code <jobId>:<page>} so a page is fetched by id.
+ */
+@Document(collection = RankJobPage.COLLECTION)
+public class RankJobPage {
+
+    public static final String COLLECTION = "rank_job_pages";
+
+    @Id
+    private String id;
+
+    private String jobId;
+
+    private int page;
+
+    private List<CandidateRankingDto> rankings;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    public RankJobPage() {
+    }
+
+    public RankJobPage(String jobId, int page, List<CandidateRankingDto> rankings, Instant expiresAt) {
+        this.id = idOf(jobId, page);
+        this.jobId = jobId;
+        this.page = page;
+        this.rankings = rankings;
+        this.expiresAt = expiresAt;
+    }
+
+    public static String idOf(String jobId, int page) {
+        return jobId + ":" + page;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public List<CandidateRankingDto> getRankings() {
+        return rankings;
+    }
+
+    public void setRankings(List<CandidateRankingDto> rankings) {
+        this.rankings = rankings;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
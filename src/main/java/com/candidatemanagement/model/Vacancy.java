@@ -7,8 +7,10 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.List;
 import java.util.Set;
 
-@Document(collection = "vacancies")
+@Document(collection = Vacancy.COLLECTION)
 public class Vacancy {
+
+    public static final String COLLECTION = "vacancies";
     
     @Id
     private String id;
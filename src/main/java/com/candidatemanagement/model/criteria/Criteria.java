@@ -1,12 +1,13 @@
 package com.candidatemanagement.model.criteria;
 
+import com.candidatemanagement.accessor.GenerateAccessors;
 import com.candidatemanagement.enums.Gender;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.List;
 
+@GenerateAccessors
 public class Criteria {
 
     private LocalDate birthdate;
@@ -23,8 +24,6 @@ public class Criteria {
         this.currentSalary = currentSalary;
     }
 
-    public static final List<String> CUSTOM_CRITERIA_FIELDS = List.of("age");
-
     public LocalDate getBirthdate() {
         return birthdate;
     }
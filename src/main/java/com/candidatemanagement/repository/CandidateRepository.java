@@ -2,14 +2,23 @@ package com.candidatemanagement.repository;
 
 import com.candidatemanagement.model.Candidate;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CandidateRepository extends MongoRepository<Candidate, String> {
+public interface CandidateRepository extends MongoRepository<Candidate, String>, CandidateRepositoryCustom {
     
     Optional<Candidate> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, String id);
+
+    Stream<Candidate> streamAllBy();
+
+    @Query(value = "{}", fields = "{ 'email' : 1 }")
+    Stream<Candidate> findAllEmails();
 }
@@ -0,0 +1,44 @@
+package com.candidatemanagement.repository;
+
+import com.candidatemanagement.model.Candidate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CandidateRepositoryCustom {
+
+    /**
+     * Applies a {@code $set} of the given fields in a single findAndModify and returns the updated document,
+     * or an empty Optional when no candidate has the given id.
+     */
+    Optional<Candidate> setFieldsById(String id, Map<String, Object> fields);
+
+    /**
+     * Deletes the candidate with a single deleteOne and reports whether a document was removed.
+     */
+    boolean deleteOneById(String id);
+
+    /**
+     * Returns the candidates whose stored {@code field} is one of {@code values}.
+     */
+    List<Candidate> findAllWhereIn(String field, Collection<?> values);
+
+    /**
+     * Streams every candidate from a cursor fetching {@code batchSize} documents per round trip (the driver's
+     * default when not positive); the caller must close the stream.
+     */
+    Stream<Candidate> streamAll(int batchSize);
+
+    /**
+     * Streams the candidates whose stored {@code field} is one of {@code values}, like {@link #streamAll(int)}.
+     */
+    Stream<Candidate> streamAllWhereIn(String field, Collection<?> values, int batchSize);
+
+    /**
+     * Counts the candidates {@link #streamAllWhereIn} would stream.
+     */
+    long countWhereIn(String field, Collection<?> values);
+}
@@ -0,0 +1,66 @@
+package com.candidatemanagement.repository;
+
+import com.candidatemanagement.model.Candidate;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class CandidateRepositoryCustomImpl implements CandidateRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public CandidateRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Candidate> setFieldsById(String id, Map<String, Object> fields) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        if (fields.isEmpty()) {
+            // An empty $set is rejected by the server, so a no-op PATCH is a plain read
+            return Optional.ofNullable(mongoTemplate.findOne(query, Candidate.class));
+        }
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Candidate.class));
+    }
+
+    @Override
+    public boolean deleteOneById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), Candidate.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<Candidate> findAllWhereIn(String field, Collection<?> values) {
+        return mongoTemplate.find(Query.query(Criteria.where(field).in(values)), Candidate.class);
+    }
+
+    @Override
+    public Stream<Candidate> streamAll(int batchSize) {
+        return mongoTemplate.stream(withBatchSize(new Query(), batchSize), Candidate.class);
+    }
+
+    @Override
+    public Stream<Candidate> streamAllWhereIn(String field, Collection<?> values, int batchSize) {
+        return mongoTemplate.stream(withBatchSize(Query.query(Criteria.where(field).in(values)), batchSize), Candidate.class);
+    }
+
+    @Override
+    public long countWhereIn(String field, Collection<?> values) {
+        return mongoTemplate.count(Query.query(Criteria.where(field).in(values)), Candidate.class);
+    }
+
+    private static Query withBatchSize(Query query, int batchSize) {
+        return batchSize > 0 ? query.cursorBatchSize(batchSize) : query;
+    }
+}
@@ -0,0 +1,9 @@
+package com.candidatemanagement.repository;
+
+import com.candidatemanagement.model.ChangeStreamToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeStreamTokenRepository extends MongoRepository<ChangeStreamToken, String> {
+}
@@ -5,5 +5,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface VacancyRepository extends MongoRepository<Vacancy, String> {
+public interface VacancyRepository extends MongoRepository<Vacancy, String>, VacancyRepositoryCustom {
 }
@@ -0,0 +1,20 @@
+package com.candidatemanagement.repository;
+
+import com.candidatemanagement.model.Vacancy;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface VacancyRepositoryCustom {
+
+    /**
+     * Applies a {@code $set} of the given fields in a single findAndModify and returns the updated document,
+     * or an empty Optional when no vacancy has the given id.
+     */
+    Optional<Vacancy> setFieldsById(String id, Map<String, Object> fields);
+
+    /**
+     * Deletes the vacancy with a single deleteOne and reports whether a document was removed.
+     */
+    boolean deleteOneById(String id);
+}
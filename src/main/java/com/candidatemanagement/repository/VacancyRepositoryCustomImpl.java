@@ -0,0 +1,39 @@
+package com.candidatemanagement.repository;
+
+import com.candidatemanagement.model.Vacancy;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class VacancyRepositoryCustomImpl implements VacancyRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public VacancyRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Vacancy> setFieldsById(String id, Map<String, Object> fields) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        if (fields.isEmpty()) {
+            // An empty $set is rejected by the server, so a no-op PATCH is a plain read
+            return Optional.ofNullable(mongoTemplate.findOne(query, Vacancy.class));
+        }
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Vacancy.class));
+    }
+
+    @Override
+    public boolean deleteOneById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), Vacancy.class).getDeletedCount() > 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.candidatemanagement.routing;
+
+import com.mongodb.ReadPreference;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The read preference chosen for the repository call running on this thread, if it is routed away from the
+ * template's default.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<ReadPreference> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static Optional<ReadPreference> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Runs {@code work} with every repository call it makes on this thread reading from the primary, including the
+     * routed methods. For background work that compares what it reads against the wall clock, which a lagging
+     * secondary would make look newer than it is.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        ReadPreference previous = set(ReadPreference.primary());
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return ReadPreference.primary().equals(CURRENT.get());
+    }
+
+    static ReadPreference set(ReadPreference readPreference) {
+        ReadPreference previous = CURRENT.get();
+        CURRENT.set(readPreference);
+        return previous;
+    }
+
+    static void restore(ReadPreference previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.candidatemanagement.routing;
+
+import com.mongodb.ReadPreference;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Set;
+
+/**
+ * Added to every Spring Data repository proxy: the methods configured for routing (named
+ * {@code <RepositoryInterface>.<method>}) run with the secondary read preference, every other method with the
+ * template's default, i.e. on the primary. Calls made within {@link ReadRouting#onPrimary} are never routed.
+ */
+public class ReadRoutingInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final Set<String> routedMethods;
+    private final ReadPreference readPreference;
+
+    public ReadRoutingInterceptor(Class<?> repositoryInterface, Set<String> routedMethods, ReadPreference readPreference) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.routedMethods = routedMethods;
+        this.readPreference = readPreference;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!routedMethods.contains(repositoryName + "." + invocation.getMethod().getName())
+                || ReadRouting.isPinnedToPrimary()) {
+            return invocation.proceed();
+        }
+        ReadPreference previous = ReadRouting.set(readPreference);
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadRouting.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.candidatemanagement.routing;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * A {@link MongoTemplate} that applies the read preference of the current {@link ReadRouting} to every collection
+ * it operates on. Writes ignore read preferences, so only the routed reads leave the primary; a cursor stays on the
+ * member that opened it.
+ */
+public class RoutingMongoTemplate extends MongoTemplate {
+
+    public RoutingMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        return ReadRouting.current().map(prepared::withReadPreference).orElse(prepared);
+    }
+}
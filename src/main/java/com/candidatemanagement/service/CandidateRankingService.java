@@ -1,9 +1,45 @@
 package com.candidatemanagement.service;
 
 import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface CandidateRankingService {
 
-    List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId);
+    default List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId) {
+        return rankCandidatesForVacancy(vacancyId, RankingQuery.unlimited());
+    }
+
+    List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId, RankingQuery query);
+
+    /**
+     * Ranks like {@link #rankCandidatesForVacancy(String, RankingQuery)}, but once {@code deadline} passes returns
+     * the best rankings found so far as a partial result instead of finishing. A {@code null} deadline never passes.
+     */
+    default RankingResult rankCandidatesForVacancy(String vacancyId, RankingQuery query, Instant deadline) {
+        return RankingResult.complete(rankCandidatesForVacancy(vacancyId, query));
+    }
+
+    /**
+     * Ranks like {@link #rankCandidatesForVacancy(String, RankingQuery, Instant)} on the bulkhead's pool. Cancelling
+     * the future gives the ranking up.
+     */
+    default CompletableFuture<RankingResult> submitRanking(
+            String vacancyId, RankingQuery query, Instant deadline, RankingBulkhead bulkhead) {
+        return bulkhead.submit(() -> rankCandidatesForVacancy(vacancyId, query, deadline));
+    }
+
+    /**
+     * The ranking in rank order, for callers that write it out as they go instead of holding it. The ranking is
+     * computed before this returns, so a missing vacancy still fails here; the stream must be closed.
+     */
+    default Stream<CandidateRankingDto> streamRankingForVacancy(String vacancyId, RankingQuery query) {
+        return rankCandidatesForVacancy(vacancyId, query).stream();
+    }
 }
@@ -3,12 +3,44 @@ package com.candidatemanagement.service;
 import com.candidatemanagement.dto.CandidateRequestDto;
 import com.candidatemanagement.model.Candidate;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CandidateService {
     Candidate createCandidate(CandidateRequestDto candidateDto);
     List<Candidate> getAllCandidates();
+
+    /**
+     * Streams every candidate from a Mongo cursor; the caller must close the stream.
+     */
+    default Stream<Candidate> streamAllCandidates() {
+        return streamAllCandidates(0);
+    }
+
+    /**
+     * Streams every candidate from a Mongo cursor that fetches {@code batchSize} documents per round trip (the
+     * driver's default when not positive); the caller must close the stream.
+     */
+    Stream<Candidate> streamAllCandidates(int batchSize);
+    List<Candidate> getCandidatesWhereIn(String field, Collection<String> values);
+
+    /**
+     * Streams the candidates whose stored {@code field} is one of {@code values}, like
+     * {@link #streamAllCandidates(int)}. May include candidates that do not match.
+     */
+    Stream<Candidate> streamCandidatesWhereIn(String field, Collection<String> values, int batchSize);
+
+    /**
+     * Counts the stored candidates; used to tell how much of the pool a scan covered.
+     */
+    long countCandidates();
+
+    /**
+     * Counts the candidates {@link #streamCandidatesWhereIn} would stream.
+     */
+    long countCandidatesWhereIn(String field, Collection<String> values);
     Optional<Candidate> getCandidateById(String id);
     Candidate updateCandidate(String id, CandidateRequestDto candidateDto);
     void deleteCandidate(String id);
@@ -8,4 +8,12 @@ public interface CriterionMatcher {
     boolean matches(Candidate candidate, Criterion criterion);
     
     String getSupportedType();
+
+    /**
+     * Rough cost of one {@link #matches} call relative to the other matchers; cheaper criteria are evaluated first
+     * among criteria of equal weight.
+     */
+    default int relativeCost() {
+        return 1;
+    }
 }
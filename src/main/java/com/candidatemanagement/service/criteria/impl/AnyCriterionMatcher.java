@@ -13,6 +13,11 @@ public class AnyCriterionMatcher implements CriterionMatcher {
         return true;
     }
 
+    @Override
+    public int relativeCost() {
+        return 0;
+    }
+
     @Override
     public String getSupportedType() {
         return Criterion.CriterionType.ANY.name();
@@ -1,16 +1,12 @@
 package com.candidatemanagement.service.criteria.impl;
 
 import com.candidatemanagement.model.Candidate;
-import com.candidatemanagement.model.criteria.Criteria;
+import com.candidatemanagement.model.CandidateAccessors;
 import com.candidatemanagement.model.criteria.Criterion;
 import com.candidatemanagement.service.criteria.CriterionMatcher;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-
-import static com.candidatemanagement.utils.ValidationUtils.findField;
 
 @Component
 public class RangeCriterionMatcher implements CriterionMatcher {
@@ -25,56 +21,28 @@ public class RangeCriterionMatcher implements CriterionMatcher {
         BigDecimal minValue = criterion.getDetails().getMinValue();
         BigDecimal maxValue = criterion.getDetails().getMaxValue();
 
-        Field field = findField(candidate.getClass(), fieldName);
-        boolean isCustomField = Criteria.CUSTOM_CRITERIA_FIELDS.contains(fieldName);
-        if (isCustomField) {
-            String methodName = "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-            try {
-                java.lang.reflect.Method method = candidate.getClass().getMethod(methodName);
-                Object value = method.invoke(candidate);
-                if (value == null) {
-                    return false;
-                }
-
-                if (value instanceof BigDecimal candidateValue) {
-                    return isInRange(candidateValue, minValue, maxValue);
-                } else if (value instanceof Number) {
-                    // Convert Number to BigDecimal for comparison
-                    BigDecimal candidateValue = BigDecimal.valueOf(((Number) value).doubleValue());
-                    return isInRange(candidateValue, minValue, maxValue);
-                } else {
-                    // Handle other types as needed
-                    return false;
-                }
-            } catch (Exception e) {
-                // Log the exception or handle it
-                // TODO: log the exception
-                return false;
-            }
-        }
-
-        if (field == null) {
+        if (fieldName == null || !CandidateAccessors.INSTANCE.has(fieldName)) {
             return false;
         }
 
+        Object value;
         try {
-            field.setAccessible(true);
-            Object value = field.get(candidate);
-            if (value == null) {
-                return false;
-            }
+            value = CandidateAccessors.INSTANCE.get(candidate, fieldName);
+        } catch (RuntimeException e) {
+            // Derived properties such as age cannot be computed without their source field
+            return false;
+        }
+        if (value == null) {
+            return false;
+        }
 
-            if (value instanceof BigDecimal candidateValue) {
-                return isInRange(candidateValue, minValue, maxValue);
-            } else if (value instanceof Number) {
-                BigDecimal candidateValue = BigDecimal.valueOf(((Number) value).doubleValue());
-                return isInRange(candidateValue, minValue, maxValue);
-            } else if (value instanceof LocalDate) {
-                return false;
-            } else {
-                return false;
-            }
-        } catch (IllegalAccessException e) {
+        if (value instanceof BigDecimal candidateValue) {
+            return isInRange(candidateValue, minValue, maxValue);
+        } else if (value instanceof Number) {
+            // Convert Number to BigDecimal for comparison
+            BigDecimal candidateValue = BigDecimal.valueOf(((Number) value).doubleValue());
+            return isInRange(candidateValue, minValue, maxValue);
+        } else {
             return false;
         }
     }
@@ -100,4 +68,3 @@ public class RangeCriterionMatcher implements CriterionMatcher {
         return Criterion.CriterionType.RANGE.name();
     }
 }
-
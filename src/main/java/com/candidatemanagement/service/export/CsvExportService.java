@@ -0,0 +1,72 @@
+package com.candidatemanagement.service.export;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.service.CandidateService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams exports as CSV straight to the response. Candidates are written while the Mongo cursor is read, so an
+ * export of any size holds one cursor batch and one {@code buffer-size} write buffer at a time.
+ */
+@Service
+public class CsvExportService {
+
+    private final CandidateService candidateService;
+    private final int bufferSize;
+
+    public CsvExportService(
+            CandidateService candidateService,
+            @Value("${candidate-management.export.buffer-size:65536}") int bufferSize) {
+        this.candidateService = candidateService;
+        this.bufferSize = bufferSize;
+    }
+
+    public void writeCandidates(OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out, bufferSize);
+             Stream<Candidate> candidates = candidateService.streamAllCandidates()) {
+            csv.text("id").text("name").text("email").text("birthdate").text("gender").text("currentSalary").endRow();
+            Iterator<Candidate> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                Candidate candidate = iterator.next();
+                csv.text(candidate.getId())
+                        .text(candidate.getName())
+                        .text(candidate.getEmail())
+                        .value(candidate.getBirthdate())
+                        .value(candidate.getGender())
+                        .value(candidate.getCurrentSalary())
+                        .endRow();
+            }
+        }
+    }
+
+    public void writeRankings(List<CandidateRankingDto> rankings, OutputStream out) throws IOException {
+        writeRankings(rankings.stream(), out);
+    }
+
+    /**
+     * Writes the rankings as the stream produces them and closes it, which releases a spilled ranking's runs.
+     */
+    public void writeRankings(Stream<CandidateRankingDto> rankings, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out, bufferSize); rankings) {
+            csv.text("rank").text("id").text("name").text("email").text("score").endRow();
+            Iterator<CandidateRankingDto> iterator = rankings.iterator();
+            while (iterator.hasNext()) {
+                CandidateRankingDto ranking = iterator.next();
+                csv.number(ranking.rank())
+                        .text(ranking.id())
+                        .text(ranking.name())
+                        .text(ranking.email())
+                        .number(ranking.score())
+                        .endRow();
+            }
+        }
+    }
+}
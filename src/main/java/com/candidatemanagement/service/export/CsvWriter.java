@@ -0,0 +1,121 @@
+package com.candidatemanagement.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 4180 CSV to a stream through one write buffer that is reused for the whole export, so the memory an
+ * export needs does not depend on how many rows it writes. Text cells that a spreadsheet would evaluate as a formula
+ * are prefixed with a quote.
+ */
+public class CsvWriter implements Closeable {
+
+    private final Writer out;
+    private final char[] buffer;
+    private int position;
+    private boolean rowStarted;
+
+    public CsvWriter(OutputStream out, int bufferSize) {
+        this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.buffer = new char[Math.max(bufferSize, 64)];
+    }
+
+    public CsvWriter text(String value) throws IOException {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        boolean quoted = formula || needsQuotes(value);
+        if (quoted) {
+            append('"');
+        }
+        if (formula) {
+            append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        if (quoted) {
+            append('"');
+        }
+        return this;
+    }
+
+    public CsvWriter number(long value) throws IOException {
+        separate();
+        return append(Long.toString(value));
+    }
+
+    public CsvWriter value(Object value) throws IOException {
+        if (value instanceof BigDecimal decimal) {
+            separate();
+            return append(decimal.toPlainString());
+        }
+        if (value instanceof Number number) {
+            separate();
+            return append(number.toString());
+        }
+        return text(value == null ? null : value.toString());
+    }
+
+    public CsvWriter endRow() throws IOException {
+        append('\r');
+        append('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void separate() throws IOException {
+        if (rowStarted) {
+            append(',');
+        }
+        rowStarted = true;
+    }
+
+    private CsvWriter append(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            append(value.charAt(i));
+        }
+        return this;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = c;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
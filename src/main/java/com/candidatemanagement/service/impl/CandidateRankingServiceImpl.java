@@ -1,91 +1,342 @@
 package com.candidatemanagement.service.impl;
 
+import com.candidatemanagement.cache.EntityChangedEvent;
 import com.candidatemanagement.dto.CandidateRankingDto;
 import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
+import com.candidatemanagement.exception.ApiErrorTemplate;
 import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.exception.RetryLaterException;
 import com.candidatemanagement.factory.CriterionMatcherFactory;
 import com.candidatemanagement.model.Candidate;
 import com.candidatemanagement.model.Vacancy;
-import com.candidatemanagement.model.criteria.Criterion;
 import com.candidatemanagement.service.CandidateRankingService;
 import com.candidatemanagement.service.CandidateService;
 import com.candidatemanagement.service.VacancyService;
-import com.candidatemanagement.service.criteria.CriterionMatcher;
+import com.candidatemanagement.service.ranking.CandidateRanker;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.CriterionStatistics;
+import com.candidatemanagement.service.ranking.ExternalScoreSort;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import com.candidatemanagement.service.ranking.ScoringPlan;
+import com.candidatemanagement.service.ranking.TopScores;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
-import java.util.Comparator;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * Scores the whole candidate pool on the calling thread, streaming it from a Mongo cursor {@code scan-batch-size}
+ * documents at a time. Only the best {@code limit} scores are kept while scanning, so a top-K ranking needs the same
+ * memory whatever the size of the pool. A streamed full ranking goes through an {@link ExternalScoreSort} instead,
+ * which spills sorted runs to {@code spill.directory} beyond {@code spill.heap-budget} and merges them while the
+ * caller writes the result out. A ranking given a deadline checks it between scan batches and, once it has passed,
+ * returns the best rankings among the candidates scored so far as a partial result. Concurrent identical rankings
+ * (same vacancy, query and data version) are coalesced: the first caller computes, later callers wait for its result
+ * instead of repeating the work, and any write bumps the data version so nobody joins a ranking that started before
+ * it. Followers join before admission to the {@link RankingBulkhead}, so only the leader holds a place there. A
+ * follower waits no longer than its own deadline, and takes a partial result only if its deadline is no later than
+ * the leader's; otherwise it ranks for itself.
+ */
 @Service
+@ConditionalOnProperty(prefix = "candidate-management.ranking", name = "mode", havingValue = "local", matchIfMissing = true)
 public class CandidateRankingServiceImpl implements CandidateRankingService {
 
     private final CandidateService candidateService;
     private final VacancyService vacancyService;
-    private final CriterionMatcherFactory criterionMatcherFactory;
+    private final CandidateScorer candidateScorer;
+    private final CandidateRanker candidateRanker;
+    private final CriterionStatistics statistics;
+    private final Duration coalesceTimeout;
+    private final int scanBatchSize;
+    private final Path spillDirectory;
+    private final DataSize spillHeapBudget;
+
+    private record RankingKey(String vacancyId, long dataVersion, RankingQuery query) {}
+
+    /**
+     * A ranking being computed for its first caller, with that caller's deadline. Its computation is given up once
+     * every caller waiting for it has.
+     */
+    private static final class InFlightRanking {
+        private final Instant deadline;
+        private final CompletableFuture<RankingResult> result = new CompletableFuture<>();
+
+        // Guarded by this
+        private int waiting = 1;
+        private CompletableFuture<RankingResult> computation;
+
+        InFlightRanking(Instant deadline) {
+            this.deadline = deadline;
+        }
+
+        synchronized boolean join() {
+            if (waiting == 0) {
+                return false;
+            }
+            waiting++;
+            return true;
+        }
+
+        synchronized void leave() {
+            if (--waiting == 0 && computation != null) {
+                computation.cancel(false);
+            }
+        }
+
+        synchronized void start(CompletableFuture<RankingResult> computation) {
+            this.computation = computation;
+            if (waiting == 0) {
+                computation.cancel(false);
+            }
+        }
+    }
+
+    // Where a scan stopped at its deadline: candidates scored out of those it would have scanned
+    private record Cutoff(long scanned, long total) {}
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final ConcurrentMap<RankingKey, InFlightRanking> inFlight = new ConcurrentHashMap<>();
 
     public CandidateRankingServiceImpl(
             CandidateService candidateService,
             VacancyService vacancyService,
-            CriterionMatcherFactory criterionMatcherFactory) {
+            CriterionMatcherFactory criterionMatcherFactory,
+            CriterionStatistics statistics,
+            @Value("${candidate-management.ranking.coalesce-timeout:30s}") Duration coalesceTimeout,
+            @Value("${candidate-management.ranking.scan-batch-size:1000}") int scanBatchSize,
+            @Value("${candidate-management.ranking.spill.directory:${java.io.tmpdir}/candidate-management/spill}") Path spillDirectory,
+            @Value("${candidate-management.ranking.spill.heap-budget:64MB}") DataSize spillHeapBudget) {
         this.candidateService = candidateService;
         this.vacancyService = vacancyService;
-        this.criterionMatcherFactory = criterionMatcherFactory;
+        this.candidateScorer = new CandidateScorer(criterionMatcherFactory, statistics);
+        this.candidateRanker = new CandidateRanker(candidateScorer);
+        this.statistics = statistics;
+        this.coalesceTimeout = coalesceTimeout;
+        this.scanBatchSize = scanBatchSize;
+        this.spillDirectory = spillDirectory;
+        this.spillHeapBudget = spillHeapBudget;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        dataVersion.incrementAndGet();
     }
 
     @Override
-    public List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId) {
-        Optional<Vacancy> vacancyOpt = vacancyService.getVacancyById(vacancyId);
-        if (vacancyOpt.isEmpty()) {
-            throw new GenericApiException(
-                HttpStatus.NOT_FOUND,
-                "Vacancy Not Found",
-                "Vacancy with id " + vacancyId + " not found"
-            );
-        }
+    public List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId, RankingQuery query) {
+        return rankCandidatesForVacancy(vacancyId, query, null).rankings();
+    }
+
+    @Override
+    public RankingResult rankCandidatesForVacancy(String vacancyId, RankingQuery query, Instant deadline) {
+        RankingResult result;
+        do {
+            result = await(rank(vacancyId, query, deadline, CandidateRankingServiceImpl::runHere));
+        } while (result == null);
+        return result;
+    }
 
-        Vacancy vacancy = vacancyOpt.get();
-        List<Candidate> allCandidates = candidateService.getAllCandidates();
-
-        return allCandidates.stream()
-                .map(c -> new CandidateScore(c.getId(), c.getName(), c.getEmail(),
-                        calculateScore(c, vacancy))) // temp DTO without rank
-                .sorted(Comparator.comparingInt(CandidateScore::score).reversed())
-                .collect(Collectors.collectingAndThen(Collectors.toList(), list ->
-                        IntStream.range(0, list.size())
-                                .mapToObj(i -> {
-                                    CandidateScore c = list.get(i);
-                                    return new CandidateRankingDto(i + 1, c.id(), c.name(), c.email(), c.score());
-                                })
-                                .toList()
-                ));
-    }
-
-    private int calculateScore(Candidate candidate, Vacancy vacancy) {
-        int totalScore = 0;
-
-        for (Criterion criterion : vacancy.getCriteria()) {
-            if (criterion.getDetails() == null || criterion.getDetails().getType() == null) {
-                continue;
+    /**
+     * Only the leader of a coalesced ranking takes a place on the bulkhead; its followers wait for it without one.
+     */
+    @Override
+    public CompletableFuture<RankingResult> submitRanking(
+            String vacancyId, RankingQuery query, Instant deadline, RankingBulkhead bulkhead) {
+        CompletableFuture<RankingResult> ranking = rank(vacancyId, query, deadline, bulkhead::submit);
+        CompletableFuture<RankingResult> caller = new CompletableFuture<>();
+        ranking.whenComplete((result, e) -> {
+            if (e != null || result != null) {
+                complete(caller, result, e);
+                return;
             }
+            CompletableFuture<RankingResult> own = submitRanking(vacancyId, query, deadline, bulkhead);
+            own.whenComplete((ownResult, ownError) -> complete(caller, ownResult, ownError));
+            caller.whenComplete((ignored, ignoredError) -> own.cancel(false));
+        });
+        caller.whenComplete((ignored, ignoredError) -> ranking.cancel(false));
+        return caller;
+    }
 
-            CriterionMatcher matcher = criterionMatcherFactory.getMatcherByType(criterion.getDetails().getType());
-            if (matcher == null) {
-                throw new GenericApiException(
-                    HttpStatus.BAD_REQUEST,
-                    "Invalid Criterion",
-                    "No matcher found for criterion type: " + criterion.getDetails().getType()
-                );
+    /**
+     * Top-K rankings are small and come from {@link #rankCandidatesForVacancy}; a full ranking is sorted externally
+     * and not coalesced, since every caller owns its runs.
+     */
+    @Override
+    public Stream<CandidateRankingDto> streamRankingForVacancy(String vacancyId, RankingQuery query) {
+        if (query.limit() != null) {
+            return rankCandidatesForVacancy(vacancyId, query).stream();
+        }
+        ExternalScoreSort sort = new ExternalScoreSort(spillDirectory, spillHeapBudget.toBytes());
+        try {
+            Vacancy vacancy = findVacancy(vacancyId);
+            int minScore = query.effectiveMinScore();
+            scan(vacancy, candidateScorer.plan(vacancy), query, () -> minScore, sort::add, null);
+        } catch (RuntimeException | Error e) {
+            sort.close();
+            throw e;
+        }
+        AtomicInteger rank = new AtomicInteger();
+        return sort.sorted().map(score ->
+                new CandidateRankingDto(rank.incrementAndGet(), score.id(), score.name(), score.email(), score.score()));
+    }
+
+    /**
+     * Joins the identical ranking in flight, or starts one through {@code admission}. The returned future is the
+     * caller's own: completing or cancelling it before the ranking finished leaves the ranking to the other callers.
+     * It completes with {@code null} when the ranking joined was cut short earlier than this caller allows, and the
+     * caller has to rank for itself.
+     */
+    private CompletableFuture<RankingResult> rank(String vacancyId, RankingQuery query, Instant deadline,
+                                                  Function<Supplier<RankingResult>, CompletableFuture<RankingResult>> admission) {
+        RankingKey key = new RankingKey(vacancyId, dataVersion.get(), query);
+        InFlightRanking own = new InFlightRanking(deadline);
+        InFlightRanking ranking = inFlight.compute(key, (k, current) -> current != null && current.join() ? current : own);
+        CompletableFuture<RankingResult> caller = new CompletableFuture<>();
+        caller.whenComplete((result, e) -> {
+            if (!ranking.result.isDone()) {
+                ranking.leave();
             }
+        });
+        if (ranking != own) {
+            follow(ranking, caller, deadline);
+            return caller;
+        }
+
+        ranking.result.whenComplete((result, e) -> complete(caller, result, e));
+        CompletableFuture<RankingResult> computation = admission.apply(() -> computeRanking(vacancyId, query, deadline));
+        computation.whenComplete((result, e) -> {
+            inFlight.remove(key, ranking);
+            complete(ranking.result, result, e);
+        });
+        ranking.start(computation);
+        return caller;
+    }
+
+    // The leader's failures are shared: the same ranking would fail the same way. A follower waits up to its own
+    // deadline, or the coalesce timeout without one.
+    private void follow(InFlightRanking leader, CompletableFuture<RankingResult> caller, Instant deadline) {
+        long timeoutMillis = Math.max(0, deadline == null
+                ? coalesceTimeout.toMillis()
+                : Duration.between(Instant.now(), deadline).toMillis());
+        CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() ->
+                caller.completeExceptionally(new RetryLaterException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Ranking Timed Out",
+                    "An identical ranking did not finish within " + timeoutMillis + " ms, retry later",
+                    coalesceTimeout
+                )));
+        leader.result.whenComplete((result, e) -> {
+            boolean shared = e != null || !result.partial() || sharesPartial(leader.deadline, deadline);
+            complete(caller, shared ? result : null, e);
+        });
+    }
+
+    // A partial ranking is as good as the follower's own only if the follower had no more time than the leader
+    private static boolean sharesPartial(Instant leaderDeadline, Instant deadline) {
+        return deadline != null && leaderDeadline != null && !deadline.isAfter(leaderDeadline);
+    }
+
+    private static void complete(CompletableFuture<RankingResult> future, RankingResult result, Throwable e) {
+        if (e == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        }
+    }
 
-            if (matcher.matches(candidate, criterion)) {
-                totalScore += criterion.getWeight();
+    // The synchronous entry points rank on the caller's thread
+    private static CompletableFuture<RankingResult> runHere(Supplier<RankingResult> ranking) {
+        try {
+            return CompletableFuture.completedFuture(ranking.get());
+        } catch (RuntimeException | Error e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static RankingResult await(CompletableFuture<RankingResult> ranking) {
+        try {
+            return ranking.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
             }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericApiException(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Ranking Interrupted",
+                "Interrupted while waiting for an identical ranking"
+            );
+        }
+    }
+
+    // Shared by every caller that joined, so the rankings must not be modified
+    private RankingResult computeRanking(String vacancyId, RankingQuery query, Instant deadline) {
+        Vacancy vacancy = findVacancy(vacancyId);
+        ScoringPlan plan = candidateScorer.plan(vacancy);
+        TopScores topScores = new TopScores(query.effectiveMinScore(), query.effectiveLimit(), plan.maxScore());
+        Optional<Cutoff> cutoff = scan(vacancy, plan, query, topScores::threshold, topScores::offer, deadline);
+        List<CandidateRankingDto> rankings = List.copyOf(CandidateScorer.toRankings(topScores.sorted()));
+        return cutoff
+                .map(stopped -> RankingResult.partial(rankings, stopped.scanned(), stopped.total()))
+                .orElseGet(() -> RankingResult.complete(rankings));
+    }
+
+    private Vacancy findVacancy(String vacancyId) {
+        return vacancyService.getVacancyById(vacancyId).orElseThrow(() ->
+                ApiErrorTemplate.VACANCY_NOT_FOUND.exception("Vacancy with id " + vacancyId + " not found"));
+    }
+
+    /**
+     * Streams the pool (or the candidates an index lookup leaves) and scores it, then feeds the criterion
+     * statistics. Returns where the scan stopped if the deadline cut it short.
+     */
+    private Optional<Cutoff> scan(Vacancy vacancy, ScoringPlan plan, RankingQuery query, IntSupplier threshold,
+                                  Consumer<CandidateScore> collector, Instant deadline) {
+        Optional<CriterionStatistics.IndexAccess> indexAccess = statistics == null
+                ? Optional.empty()
+                : statistics.indexAccess(vacancy.getId(), plan, query.effectiveMinScore());
+        long scanned;
+        try (Stream<Candidate> candidates = indexAccess
+                .map(access -> candidateService.streamCandidatesWhereIn(access.field(), access.values(), scanBatchSize))
+                .orElseGet(() -> candidateService.streamAllCandidates(scanBatchSize))) {
+            scanned = candidateRanker.score(plan, candidates.iterator(), threshold, collector, deadline, scanBatchSize);
         }
 
-        return totalScore;
+        candidateScorer.record(vacancy, plan, indexAccess.map(CriterionStatistics.IndexAccess::criterion).orElse(null));
+        if (scanned >= 0) {
+            return Optional.empty();
+        }
+        long total = indexAccess
+                .map(access -> candidateService.countCandidatesWhereIn(access.field(), access.values()))
+                .orElseGet(candidateService::countCandidates);
+        return Optional.of(new Cutoff(-scanned, total));
     }
 }
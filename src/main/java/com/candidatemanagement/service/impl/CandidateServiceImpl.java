@@ -1,89 +1,274 @@
 package com.candidatemanagement.service.impl;
 
+import com.candidatemanagement.cache.CandidateEmailFilter;
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.config.CacheConfig;
 import com.candidatemanagement.dto.CandidateRequestDto;
 import com.candidatemanagement.enums.Gender;
-import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.exception.ApiErrorTemplate;
+import com.candidatemanagement.exception.BusinessException;
 import com.candidatemanagement.model.Candidate;
 import com.candidatemanagement.repository.CandidateRepository;
 import com.candidatemanagement.service.CandidateService;
 import com.candidatemanagement.utils.ValidationUtils;
-import org.springframework.http.HttpStatus;
+import com.candidatemanagement.writebehind.CandidateWriteLog;
+import com.candidatemanagement.writebehind.PendingCandidateWrite;
+import org.bson.types.ObjectId;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CandidateServiceImpl implements CandidateService {
 
+    private static final int WRITE_BEHIND_LOCK_STRIPES = 64;
+
     private final CandidateRepository candidateRepository;
+    private final CandidateEmailFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidateWriteLog writeLog;
+    // Serializes the read-modify-write of one candidate under write-behind, where no Mongo $set does it for us
+    private final Object[] writeBehindLocks = new Object[WRITE_BEHIND_LOCK_STRIPES];
 
-    public CandidateServiceImpl(CandidateRepository candidateRepository) {
+    public CandidateServiceImpl(
+            CandidateRepository candidateRepository,
+            CandidateEmailFilter emailFilter,
+            ApplicationEventPublisher eventPublisher,
+            CandidateWriteLog writeLog) {
         this.candidateRepository = candidateRepository;
+        this.emailFilter = emailFilter;
+        this.eventPublisher = eventPublisher;
+        this.writeLog = writeLog;
+        for (int i = 0; i < writeBehindLocks.length; i++) {
+            writeBehindLocks[i] = new Object();
+        }
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.CANDIDATES_CACHE, key = "#result.id")
     public Candidate createCandidate(CandidateRequestDto candidateDto) {
         validateCreate(candidateDto);
 
-        if (candidateRepository.existsByEmail(candidateDto.email())) {
-            throw new GenericApiException(
-                HttpStatus.CONFLICT,
-                "Duplicate Email",
-                "Candidate with email " + candidateDto.email() + " already exists"
-            );
+        Candidate candidate = mapDtoToEntity(candidateDto);
+        if (writeLog.isEnabled()) {
+            // Mongo will not assign the id before the client is answered, so it is assigned here
+            candidate.setId(new ObjectId().toHexString());
+            return withEmailClaim(candidate.getEmail(), candidate.getId(), () -> {
+                requireUnusedEmail(candidate.getEmail(), null);
+                return writeBehind(candidate);
+            });
         }
 
-        Candidate candidate = mapDtoToEntity(candidateDto, null);
-        return candidateRepository.save(candidate);
+        requireUnusedEmail(candidate.getEmail(), null);
+        return write(candidate.getEmail(), () -> candidateRepository.save(candidate));
     }
 
     @Override
     public List<Candidate> getAllCandidates() {
-        return candidateRepository.findAll();
+        List<Candidate> candidates = candidateRepository.findAll();
+        if (!writeLog.isEnabled()) {
+            return candidates;
+        }
+
+        Map<String, Candidate> merged = new LinkedHashMap<>();
+        candidates.forEach(candidate -> merged.put(candidate.getId(), candidate));
+        for (PendingCandidateWrite write : writeLog.pendingWrites()) {
+            if (write.isDelete()) {
+                merged.remove(write.id());
+            } else {
+                merged.put(write.id(), write.candidate());
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public Stream<Candidate> streamAllCandidates(int batchSize) {
+        if (!writeLog.isEnabled()) {
+            return candidateRepository.streamAll(batchSize);
+        }
+
+        // Pending writes replace their stored versions and are emitted after the cursor
+        Map<String, PendingCandidateWrite> pending = writeLog.pendingWrites().stream()
+                .collect(Collectors.toMap(PendingCandidateWrite::id, Function.identity()));
+        Stream<Candidate> stored = candidateRepository.streamAll(batchSize)
+                .filter(candidate -> !pending.containsKey(candidate.getId()));
+        return Stream.concat(stored, pending.values().stream()
+                .filter(write -> !write.isDelete())
+                .map(PendingCandidateWrite::candidate));
+    }
+
+    @Override
+    public List<Candidate> getCandidatesWhereIn(String field, Collection<String> values) {
+        if (writeLog.isEnabled()) {
+            // Pending writes are not in Mongo yet; callers re-check every candidate, so a superset is fine
+            return getAllCandidates();
+        }
+        return candidateRepository.findAllWhereIn(field, values);
+    }
+
+    @Override
+    public Stream<Candidate> streamCandidatesWhereIn(String field, Collection<String> values, int batchSize) {
+        if (writeLog.isEnabled()) {
+            // Pending writes are not in Mongo yet; callers re-check every candidate, so a superset is fine
+            return streamAllCandidates(batchSize);
+        }
+        return candidateRepository.streamAllWhereIn(field, values, batchSize);
+    }
+
+    @Override
+    public long countCandidates() {
+        long stored = candidateRepository.count();
+        if (!writeLog.isEnabled()) {
+            return stored;
+        }
+        Collection<PendingCandidateWrite> pending = writeLog.pendingWrites();
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        // Pending writes replace their stored versions, if any; pending deletes count for nothing
+        long storedPending = candidateRepository.countWhereIn("id",
+                pending.stream().map(PendingCandidateWrite::id).toList());
+        long pendingUpserts = pending.stream().filter(write -> !write.isDelete()).count();
+        return stored - storedPending + pendingUpserts;
     }
 
     @Override
+    public long countCandidatesWhereIn(String field, Collection<String> values) {
+        if (writeLog.isEnabled()) {
+            return countCandidates();
+        }
+        return candidateRepository.countWhereIn(field, values);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CANDIDATES_CACHE, key = "#id", unless = "#result == null")
     public Optional<Candidate> getCandidateById(String id) {
+        if (writeLog.isEnabled()) {
+            Optional<PendingCandidateWrite> pendingWrite = writeLog.pendingWrite(id);
+            if (pendingWrite.isPresent()) {
+                return Optional.ofNullable(pendingWrite.get().candidate());
+            }
+        }
         return candidateRepository.findById(id);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.CANDIDATES_CACHE, key = "#id")
     public Candidate updateCandidate(String id, CandidateRequestDto candidateDto) {
-        Candidate existing = candidateRepository.findById(id)
-                .orElseThrow(() -> new GenericApiException(
-                    HttpStatus.NOT_FOUND,
-                    "Resource Not Found",
-                    "Candidate with id " + id + " not found"
-                ));
-
         validateUpdate(candidateDto);
 
-        if (candidateDto.email() != null &&
-            !existing.getEmail().equals(candidateDto.email()) &&
-            candidateRepository.existsByEmail(candidateDto.email())) {
-            throw new GenericApiException(
-                HttpStatus.CONFLICT,
-                "Duplicate Email",
-                "Candidate with email " + candidateDto.email() + " already exists"
-            );
+        if (writeLog.isEnabled()) {
+            // Appending the full candidate replaces it on flush, so a concurrent update must see this one first
+            synchronized (writeBehindLock(id)) {
+                return withEmailClaim(candidateDto.email(), id, () -> {
+                    requireUnusedEmail(candidateDto.email(), id);
+                    Candidate current = getCandidateById(id).orElseThrow(() -> candidateNotFound(id));
+                    return writeBehind(applyDto(current, candidateDto));
+                });
+            }
         }
 
-        Candidate updated = mapDtoToEntity(candidateDto, existing);
-        return candidateRepository.save(updated);
+        requireUnusedEmail(candidateDto.email(), id);
+
+        return write(candidateDto.email(), () -> candidateRepository.setFieldsById(id, mapDtoToFields(candidateDto))
+                .orElseThrow(() -> candidateNotFound(id)));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CANDIDATES_CACHE, key = "#id")
     public void deleteCandidate(String id) {
-        if (!candidateRepository.existsById(id)) {
-            throw new GenericApiException(
-                HttpStatus.NOT_FOUND,
-                "Resource Not Found",
-                "Candidate with id " + id + " not found"
-            );
+        if (writeLog.isEnabled()) {
+            synchronized (writeBehindLock(id)) {
+                if (getCandidateById(id).isEmpty()) {
+                    throw candidateNotFound(id);
+                }
+                writeLog.appendDelete(id);
+            }
+            return;
+        }
+
+        if (!candidateRepository.deleteOneById(id)) {
+            throw candidateNotFound(id);
+        }
+        eventPublisher.publishEvent(new EntityChangedEvent(Candidate.COLLECTION, id, true));
+    }
+
+    // The unique index on email settles races the filter and existsByEmail cannot see
+    private Candidate write(String email, Supplier<Candidate> operation) {
+        Candidate written;
+        try {
+            written = operation.get();
+        } catch (DuplicateKeyException e) {
+            throw duplicateEmail(email, e);
+        }
+        if (written != null) {
+            emailFilter.put(written.getEmail());
+            eventPublisher.publishEvent(new EntityChangedEvent(Candidate.COLLECTION, written.getId(), false));
+        }
+        return written;
+    }
+
+    private void requireUnusedEmail(String email, String id) {
+        if (email == null || !emailFilter.mightContain(email)) {
+            return;
+        }
+        boolean used = id == null
+                ? candidateRepository.existsByEmail(email)
+                : candidateRepository.existsByEmailAndIdNot(email, id);
+        if (used) {
+            throw duplicateEmail(email, null);
+        }
+    }
+
+    // Under write-behind no unique index answers before the client does, so the email is claimed in the log first
+    private Candidate withEmailClaim(String email, String id, Supplier<Candidate> write) {
+        if (email == null) {
+            return write.get();
+        }
+        if (!writeLog.claimEmail(email, id)) {
+            throw duplicateEmail(email, null);
+        }
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            writeLog.releaseEmail(email, id);
+            throw e;
         }
-        candidateRepository.deleteById(id);
+    }
+
+    // Acknowledged once the write is durable in the local log; the log publishes the change after flushing it
+    private Candidate writeBehind(Candidate candidate) {
+        writeLog.appendUpsert(candidate);
+        emailFilter.put(candidate.getEmail());
+        return candidate;
+    }
+
+    private Object writeBehindLock(String id) {
+        return writeBehindLocks[Math.floorMod(id.hashCode(), writeBehindLocks.length)];
+    }
+
+    private BusinessException candidateNotFound(String id) {
+        return ApiErrorTemplate.CANDIDATE_NOT_FOUND.exception("Candidate with id " + id + " not found");
+    }
+
+    private BusinessException duplicateEmail(String email, Throwable cause) {
+        return ApiErrorTemplate.DUPLICATE_EMAIL.exception("Candidate with email " + email + " already exists", cause);
     }
 
     private void validateCreate(CandidateRequestDto dto) {
@@ -118,21 +303,36 @@ public class CandidateServiceImpl implements CandidateService {
         }
     }
 
-    private Candidate mapDtoToEntity(CandidateRequestDto dto, Candidate entity) {
-        if (entity == null) {
-            return new Candidate(
-                dto.name(),
-                dto.email(),
-                dto.birthdate(),
-                Gender.fromString(dto.gender()),
-                dto.currentSalary()
-            );
-        }
-        if (dto.name() != null) entity.setName(dto.name());
-        if (dto.email() != null) entity.setEmail(dto.email());
-        if (dto.birthdate() != null) entity.setBirthdate(dto.birthdate());
-        if (dto.gender() != null) entity.setGender(Gender.fromString(dto.gender()));
-        if (dto.currentSalary() != null) entity.setCurrentSalary(dto.currentSalary());
-        return entity;
+    private Candidate mapDtoToEntity(CandidateRequestDto dto) {
+        return new Candidate(
+            dto.name(),
+            dto.email(),
+            dto.birthdate(),
+            Gender.fromString(dto.gender()),
+            dto.currentSalary()
+        );
+    }
+
+    // Copies rather than mutates, since the current candidate may be the one held by the pending overlay
+    private Candidate applyDto(Candidate current, CandidateRequestDto dto) {
+        Candidate updated = new Candidate(
+            dto.name() != null ? dto.name() : current.getName(),
+            dto.email() != null ? dto.email() : current.getEmail(),
+            dto.birthdate() != null ? dto.birthdate() : current.getBirthdate(),
+            dto.gender() != null ? Gender.fromString(dto.gender()) : current.getGender(),
+            dto.currentSalary() != null ? dto.currentSalary() : current.getCurrentSalary()
+        );
+        updated.setId(current.getId());
+        return updated;
+    }
+
+    private Map<String, Object> mapDtoToFields(CandidateRequestDto dto) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (dto.name() != null) fields.put("name", dto.name());
+        if (dto.email() != null) fields.put("email", dto.email());
+        if (dto.birthdate() != null) fields.put("birthdate", dto.birthdate());
+        if (dto.gender() != null) fields.put("gender", Gender.fromString(dto.gender()));
+        if (dto.currentSalary() != null) fields.put("currentSalary", dto.currentSalary());
+        return fields;
     }
 }
@@ -1,18 +1,26 @@
 package com.candidatemanagement.service.impl;
 
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.config.CacheConfig;
 import com.candidatemanagement.dto.VacancyRequestDto;
-import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.exception.ApiErrorTemplate;
+import com.candidatemanagement.exception.BusinessException;
 import com.candidatemanagement.exception.ValidationException;
 import com.candidatemanagement.model.Vacancy;
 import com.candidatemanagement.model.criteria.Criterion;
 import com.candidatemanagement.repository.VacancyRepository;
 import com.candidatemanagement.service.VacancyService;
 import com.candidatemanagement.utils.ValidationUtils;
-import org.springframework.http.HttpStatus;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
 
@@ -20,16 +28,20 @@ import java.util.ArrayList;
 public class VacancyServiceImpl implements VacancyService {
 
     private final VacancyRepository vacancyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VacancyServiceImpl(VacancyRepository vacancyRepository) {
+    public VacancyServiceImpl(VacancyRepository vacancyRepository, ApplicationEventPublisher eventPublisher) {
         this.vacancyRepository = vacancyRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.VACANCIES_CACHE, key = "#result.id")
     public Vacancy createVacancy(VacancyRequestDto vacancyDto) {
         validateCreate(vacancyDto);
-        Vacancy vacancy = mapDtoToEntity(vacancyDto, null);
-        return vacancyRepository.save(vacancy);
+        Vacancy created = vacancyRepository.save(mapDtoToEntity(vacancyDto));
+        eventPublisher.publishEvent(new EntityChangedEvent(Vacancy.COLLECTION, created.getId(), false));
+        return created;
     }
 
     @Override
@@ -38,35 +50,33 @@ public class VacancyServiceImpl implements VacancyService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.VACANCIES_CACHE, key = "#id", unless = "#result == null")
     public Optional<Vacancy> getVacancyById(String id) {
         return vacancyRepository.findById(id);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.VACANCIES_CACHE, key = "#id")
     public Vacancy updateVacancy(String id, VacancyRequestDto vacancyDto) {
-        Vacancy existing = vacancyRepository.findById(id)
-                .orElseThrow(() -> new GenericApiException(
-                        HttpStatus.NOT_FOUND,
-                        "Vacancy Not Found",
-                        "Vacancy with id " + id + " not found"
-                ));
-
         validateUpdate(vacancyDto);
 
-        Vacancy updatedVacancy = mapDtoToEntity(vacancyDto, existing);
-        return vacancyRepository.save(updatedVacancy);
+        Vacancy updated = vacancyRepository.setFieldsById(id, mapDtoToFields(vacancyDto))
+                .orElseThrow(() -> vacancyNotFound(id));
+        eventPublisher.publishEvent(new EntityChangedEvent(Vacancy.COLLECTION, id, false));
+        return updated;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.VACANCIES_CACHE, key = "#id")
     public void deleteVacancy(String id) {
-        if (!vacancyRepository.existsById(id)) {
-            throw new GenericApiException(
-                HttpStatus.NOT_FOUND,
-                "Vacancy Not Found",
-                "Vacancy with id " + id + " not found"
-            );
+        if (!vacancyRepository.deleteOneById(id)) {
+            throw vacancyNotFound(id);
         }
-        vacancyRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Vacancy.COLLECTION, id, true));
+    }
+
+    private BusinessException vacancyNotFound(String id) {
+        return ApiErrorTemplate.VACANCY_NOT_FOUND.exception("Vacancy with id " + id + " not found");
     }
 
     private void validateCreate(VacancyRequestDto dto) {
@@ -121,17 +131,17 @@ public class VacancyServiceImpl implements VacancyService {
         }
     }
 
-    private Vacancy mapDtoToEntity(VacancyRequestDto dto, Vacancy entity) {
-        if (entity == null) {
-            entity = new Vacancy(
-                dto.name(),
-                dto.criteria()
-            );
-        } else {
-            if (dto.name() != null) entity.setName(dto.name());
-            if (dto.criteria() != null) entity.setCriteria(dto.criteria());
+    private Vacancy mapDtoToEntity(VacancyRequestDto dto) {
+        return new Vacancy(
+            dto.name(),
+            dto.criteria()
+        );
+    }
 
-        }
-        return entity;
+    private Map<String, Object> mapDtoToFields(VacancyRequestDto dto) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (dto.name() != null) fields.put("name", dto.name());
+        if (dto.criteria() != null) fields.put("criteria", dto.criteria());
+        return fields;
     }
 }
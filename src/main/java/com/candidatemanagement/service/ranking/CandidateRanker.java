@@ -0,0 +1,64 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * The scoring loop of a single-node ranking: scores candidates one at a time through a {@link ScoringPlan} and
+ * hands those that can still reach the threshold to a collector, usually a {@link TopScores}. Loading the candidates
+ * and feeding the criterion statistics are left to the caller, so the warm-up runs exactly the loop requests use.
+ */
+public class CandidateRanker {
+
+    private final CandidateScorer candidateScorer;
+
+    public CandidateRanker(CandidateScorer candidateScorer) {
+        this.candidateScorer = candidateScorer;
+    }
+
+    public CandidateScorer getCandidateScorer() {
+        return candidateScorer;
+    }
+
+    /**
+     * Returns the scores of the candidates that reach {@code query.minScore()}, at most {@code query.limit()} of
+     * them, in {@link CandidateScorer#BY_SCORE_THEN_ID} order.
+     */
+    public List<CandidateScore> rank(Vacancy vacancy, Iterator<Candidate> candidates, RankingQuery query) {
+        ScoringPlan plan = candidateScorer.plan(vacancy);
+        TopScores topScores = new TopScores(query.effectiveMinScore(), query.effectiveLimit(), plan.maxScore());
+        score(plan, candidates, topScores::threshold, topScores::offer, null, 1);
+        return topScores.sorted();
+    }
+
+    /**
+     * Scores every candidate that can still reach the threshold and hands the qualifying scores to the collector.
+     * The deadline is checked once every {@code batchSize} candidates, so at least one batch is always scored.
+     * Returns the number of candidates scored, negated if the deadline stopped the scan before the end.
+     */
+    public long score(ScoringPlan plan, Iterator<Candidate> candidates, IntSupplier threshold,
+                      Consumer<CandidateScore> collector, Instant deadline, int batchSize) {
+        int batch = Math.max(1, batchSize);
+        long scanned = 0;
+        while (candidates.hasNext()) {
+            if (deadline != null && scanned > 0 && scanned % batch == 0 && Instant.now().isAfter(deadline)) {
+                return -scanned;
+            }
+            Candidate candidate = candidates.next();
+            scanned++;
+            int score = plan.scoreAtLeast(candidate, threshold.getAsInt());
+            if (score != ScoringPlan.EXCLUDED) {
+                collector.accept(new CandidateScore(candidate.getId(), candidate.getName(), candidate.getEmail(), score));
+            }
+        }
+        return scanned;
+    }
+}
@@ -0,0 +1,104 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.service.criteria.CriterionMatcher;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scores candidates against a vacancy's criteria. Shared by every ranking mode so single-node and distributed
+ * rankings always agree on a candidate's score.
+ */
+public class CandidateScorer {
+
+    /** Highest score first; ties keep the order in which candidates were scored. */
+    public static final Comparator<CandidateScore> BY_SCORE = Comparator.comparingInt(CandidateScore::score).reversed();
+
+    /** Highest score first, ties broken by candidate id so results merged from several sources are deterministic. */
+    public static final Comparator<CandidateScore> BY_SCORE_THEN_ID =
+            BY_SCORE.thenComparing(CandidateScore::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final CriterionMatcherFactory criterionMatcherFactory;
+    private final CriterionStatistics statistics;
+
+    public CandidateScorer(CriterionMatcherFactory criterionMatcherFactory) {
+        this(criterionMatcherFactory, null);
+    }
+
+    /**
+     * @param statistics observations that reorder a vacancy's criteria once available; {@code null} keeps the static
+     *                   heaviest-first order
+     */
+    public CandidateScorer(CriterionMatcherFactory criterionMatcherFactory, CriterionStatistics statistics) {
+        this.criterionMatcherFactory = criterionMatcherFactory;
+        this.statistics = statistics;
+    }
+
+    public CandidateScore score(Candidate candidate, Vacancy vacancy) {
+        return new CandidateScore(candidate.getId(), candidate.getName(), candidate.getEmail(),
+                calculateScore(candidate, vacancy));
+    }
+
+    public int calculateScore(Candidate candidate, Vacancy vacancy) {
+        return plan(vacancy).score(candidate);
+    }
+
+    /**
+     * Resolves the vacancy's criteria to their matchers, heaviest first until enough statistics have been gathered
+     * to order them by observed selectivity and cost. Build it once per ranking rather than once per candidate.
+     */
+    public ScoringPlan plan(Vacancy vacancy) {
+        List<ScoringPlan.Step> steps = new ArrayList<>();
+        for (Criterion criterion : vacancy.getCriteria()) {
+            if (criterion.getDetails() == null || criterion.getDetails().getType() == null) {
+                continue;
+            }
+
+            CriterionMatcher matcher = criterionMatcherFactory.getMatcherByType(criterion.getDetails().getType());
+            if (matcher == null) {
+                throw new GenericApiException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid Criterion",
+                    "No matcher found for criterion type: " + criterion.getDetails().getType()
+                );
+            }
+            steps.add(new ScoringPlan.Step(criterion, matcher));
+        }
+        Comparator<ScoringPlan.Step> adaptiveOrder = statistics == null
+                ? null
+                : statistics.adaptiveOrder(vacancy.getId(), steps);
+        steps.sort(adaptiveOrder != null ? adaptiveOrder : ScoringPlan.HEAVIEST_THEN_CHEAPEST);
+        return new ScoringPlan(steps);
+    }
+
+    /**
+     * Feeds what a finished ranking observed back into the statistics; {@code pushedDown} is a criterion Mongo
+     * already applied, so its match rate was not observed.
+     */
+    public void record(Vacancy vacancy, ScoringPlan plan, Criterion pushedDown) {
+        if (statistics != null) {
+            statistics.record(vacancy.getId(), plan, pushedDown);
+        }
+    }
+
+    /**
+     * Assigns 1-based ranks to scores that are already in ranking order.
+     */
+    public static List<CandidateRankingDto> toRankings(List<CandidateScore> sortedScores) {
+        List<CandidateRankingDto> rankings = new ArrayList<>(sortedScores.size());
+        for (int i = 0; i < sortedScores.size(); i++) {
+            CandidateScore c = sortedScores.get(i);
+            rankings.add(new CandidateRankingDto(i + 1, c.id(), c.name(), c.email(), c.score()));
+        }
+        return rankings;
+    }
+}
@@ -0,0 +1,222 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CriterionStatisticsDto;
+import com.candidatemanagement.model.CandidateAccessors;
+import com.candidatemanagement.model.criteria.Criterion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Match rates and sampled evaluation costs of every vacancy's criteria, accumulated across rankings in striped
+ * {@link LongAdder}s so concurrent rankings never contend on a lock. Once a criterion has been evaluated
+ * {@code min-samples} times, {@link CandidateScorer} orders it by the weight it is expected to eliminate per
+ * nanosecond rather than by its declared weight, and a mandatory criterion that matches at most
+ * {@code index-selectivity} of the pool is answered by a Mongo lookup instead of filtering a full scan.
+ */
+@Component
+public class CriterionStatistics {
+
+    public enum Access { SCAN, INDEX }
+
+    /** A mandatory criterion answered by an {@code $in} lookup on a stored field. */
+    public record IndexAccess(Criterion criterion, String field, List<String> values) {}
+
+    // Every n-th ranking that could use the index scans instead, so the pushed-down criterion keeps being measured
+    private static final int INDEX_REVALIDATION_INTERVAL = 32;
+
+    private record Key(String vacancyId, String criterion) {}
+
+    private static final class Counters {
+        final String definition;
+        final LongAdder evaluations = new LongAdder();
+        final LongAdder matches = new LongAdder();
+        final LongAdder sampledEvaluations = new LongAdder();
+        final LongAdder sampledNanos = new LongAdder();
+        final LongAdder indexedRankings = new LongAdder();
+
+        Counters(String definition) {
+            this.definition = definition;
+        }
+
+        boolean isSettled(long minSamples) {
+            return evaluations.sum() >= minSamples && sampledEvaluations.sum() > 0;
+        }
+
+        double matchRate() {
+            long evaluated = evaluations.sum();
+            return evaluated == 0 ? 0 : (double) matches.sum() / evaluated;
+        }
+
+        double averageNanos() {
+            long sampled = sampledEvaluations.sum();
+            return sampled == 0 ? 0 : (double) sampledNanos.sum() / sampled;
+        }
+    }
+
+    private final long minSamples;
+    private final double indexSelectivity;
+    private final ConcurrentMap<Key, Counters> counters = new ConcurrentHashMap<>();
+
+    public CriterionStatistics(
+            @Value("${candidate-management.ranking.adaptive.min-samples:1000}") long minSamples,
+            @Value("${candidate-management.ranking.adaptive.index-selectivity:0.05}") double indexSelectivity) {
+        this.minSamples = minSamples;
+        this.indexSelectivity = indexSelectivity;
+    }
+
+    /**
+     * Adds the counts a plan gathered while ranking the vacancy. A criterion whose definition changed since it was
+     * last observed starts over; {@code pushedDown} is skipped because every candidate it was shown matched it.
+     */
+    public void record(String vacancyId, ScoringPlan plan, Criterion pushedDown) {
+        if (vacancyId == null) {
+            return;
+        }
+        for (int i = 0; i < plan.size(); i++) {
+            Criterion criterion = plan.criterion(i);
+            if (criterion == pushedDown || plan.evaluations(i) == 0) {
+                continue;
+            }
+            Counters observed = countersFor(vacancyId, criterion);
+            observed.evaluations.add(plan.evaluations(i));
+            observed.matches.add(plan.matches(i));
+            observed.sampledEvaluations.add(plan.sampledEvaluations(i));
+            observed.sampledNanos.add(plan.sampledNanos(i));
+        }
+    }
+
+    /**
+     * Orders steps by expected eliminated weight per nanosecond, highest first, or returns {@code null} while any
+     * step has too few observations to be compared with the others.
+     */
+    Comparator<ScoringPlan.Step> adaptiveOrder(String vacancyId, List<ScoringPlan.Step> steps) {
+        if (vacancyId == null) {
+            return null;
+        }
+        Map<Criterion, Double> eliminationRates = new LinkedHashMap<>();
+        for (ScoringPlan.Step step : steps) {
+            Counters observed = settled(vacancyId, step.criterion());
+            if (observed == null) {
+                return null;
+            }
+            double eliminatedWeight = Math.max(step.weight(), 0) * (1 - observed.matchRate());
+            eliminationRates.put(step.criterion(), eliminatedWeight / Math.max(observed.averageNanos(), 1));
+        }
+        return Comparator.<ScoringPlan.Step>comparingDouble(step -> eliminationRates.get(step.criterion())).reversed()
+                .thenComparing(ScoringPlan.HEAVIEST_THEN_CHEAPEST);
+    }
+
+    /**
+     * Picks the most selective criterion that every qualifying candidate must match and that can be looked up on a
+     * stored field, when it matches few enough candidates to beat a full scan.
+     */
+    public Optional<IndexAccess> indexAccess(String vacancyId, ScoringPlan plan, int minScore) {
+        if (vacancyId == null) {
+            return Optional.empty();
+        }
+        IndexAccess best = null;
+        double bestMatchRate = indexSelectivity;
+        for (int i = 0; i < plan.size(); i++) {
+            Criterion criterion = plan.criterion(i);
+            // Without this criterion even a candidate matching everything else stays below the threshold
+            boolean mandatory = plan.maxScore() - Math.max(criterion.getWeight(), 0) < minScore;
+            Counters observed = mandatory ? settled(vacancyId, criterion) : null;
+            if (observed == null || observed.matchRate() > bestMatchRate) {
+                continue;
+            }
+            Optional<List<String>> values = indexableValues(criterion);
+            if (values.isPresent()) {
+                best = new IndexAccess(criterion, criterion.getName().toLowerCase(Locale.ROOT), values.get());
+                bestMatchRate = observed.matchRate();
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        LongAdder indexedRankings = countersFor(vacancyId, best.criterion()).indexedRankings;
+        indexedRankings.increment();
+        return indexedRankings.sum() % INDEX_REVALIDATION_INTERVAL == 0 ? Optional.empty() : Optional.of(best);
+    }
+
+    public Map<String, List<CriterionStatisticsDto>> statistics() {
+        Map<String, List<CriterionStatisticsDto>> byVacancy = new TreeMap<>();
+        counters.keySet().stream()
+                .map(Key::vacancyId)
+                .distinct()
+                .forEach(vacancyId -> byVacancy.put(vacancyId, statistics(vacancyId)));
+        return byVacancy;
+    }
+
+    public List<CriterionStatisticsDto> statistics(String vacancyId) {
+        List<CriterionStatisticsDto> result = new ArrayList<>();
+        counters.forEach((key, observed) -> {
+            if (key.vacancyId().equals(vacancyId)) {
+                boolean selective = observed.isSettled(minSamples) && observed.matchRate() <= indexSelectivity;
+                result.add(new CriterionStatisticsDto(
+                        key.criterion(),
+                        observed.evaluations.sum(),
+                        observed.matches.sum(),
+                        observed.matchRate(),
+                        observed.averageNanos(),
+                        selective ? Access.INDEX.name() : Access.SCAN.name()));
+            }
+        });
+        result.sort(Comparator.comparing(CriterionStatisticsDto::criterion));
+        return result;
+    }
+
+    private Counters settled(String vacancyId, Criterion criterion) {
+        Counters observed = counters.get(new Key(vacancyId, criterion.getName()));
+        if (observed == null || !observed.definition.equals(definitionOf(criterion))) {
+            return null;
+        }
+        return observed.isSettled(minSamples) ? observed : null;
+    }
+
+    private Counters countersFor(String vacancyId, Criterion criterion) {
+        String definition = definitionOf(criterion);
+        return counters.compute(new Key(vacancyId, criterion.getName()),
+                (key, existing) -> existing != null && existing.definition.equals(definition)
+                        ? existing
+                        : new Counters(definition));
+    }
+
+    // Enumeration criteria on enum fields are equality lookups on the stored constant name
+    private static Optional<List<String>> indexableValues(Criterion criterion) {
+        Criterion.CriterionDetails details = criterion.getDetails();
+        if (!Criterion.CriterionType.ENUMERATION.name().equals(details.getType()) || details.getOptions() == null) {
+            return Optional.empty();
+        }
+        List<String> constants = CandidateAccessors.INSTANCE.enumConstants(criterion.getName().toLowerCase(Locale.ROOT));
+        if (constants.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> options = details.getOptions().stream()
+                .map(option -> option.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return Optional.of(constants.stream()
+                .filter(constant -> options.contains(constant.toLowerCase(Locale.ROOT)))
+                .toList());
+    }
+
+    private static String definitionOf(Criterion criterion) {
+        Criterion.CriterionDetails details = criterion.getDetails();
+        return details.getType() + "|" + details.getMinValue() + "|" + details.getMaxValue() + "|"
+                + (details.getOptions() == null ? null : new TreeSet<>(details.getOptions()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CriterionStatisticsDto;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/criterionstats}: observed match rate, sampled cost and preferred access path of every criterion
+ * that has been ranked, grouped by vacancy id.
+ */
+@Component
+@Endpoint(id = "criterionstats")
+public class CriterionStatisticsEndpoint {
+
+    private final CriterionStatistics statistics;
+
+    public CriterionStatisticsEndpoint(CriterionStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, List<CriterionStatisticsDto>> statistics() {
+        return statistics.statistics();
+    }
+
+    @ReadOperation
+    public List<CriterionStatisticsDto> statisticsForVacancy(@Selector String vacancyId) {
+        return statistics.statistics(vacancyId);
+    }
+}
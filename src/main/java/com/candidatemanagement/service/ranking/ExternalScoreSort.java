@@ -0,0 +1,295 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CandidateScore;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorts any number of scores in {@link CandidateScorer#BY_SCORE_THEN_ID} order within a fixed heap budget. Scores
+ * are buffered until their estimated footprint reaches {@code heapBudget}; the buffer is then sorted and spilled to
+ * a temporary run file, and {@link #sorted()} k-way merges the runs with whatever is still buffered. Scores that fit
+ * the budget are sorted in memory and never touch the disk.
+ * <p>
+ * Run records (little endian): {@code score(int), idLength(int), nameLength(int), emailLength(int)} followed by the
+ * UTF-8 bytes of id, name and email; a length of -1 stands for {@code null}.
+ */
+public final class ExternalScoreSort implements Closeable {
+
+    static final int RECORD_HEADER_SIZE = 16;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Rough heap cost of a buffered score besides its characters: the record, three strings and the list slot
+    private static final int SCORE_OVERHEAD = 120;
+
+    private final Path directory;
+    private final long heapBudget;
+    private final List<CandidateScore> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<RunReader> readers = new ArrayList<>();
+    private long bufferedBytes;
+    private long size;
+
+    public ExternalScoreSort(Path directory, long heapBudget) {
+        this.directory = directory;
+        this.heapBudget = heapBudget;
+    }
+
+    public void add(CandidateScore score) {
+        buffer.add(score);
+        size++;
+        bufferedBytes += SCORE_OVERHEAD + length(score.id()) + length(score.name()) + length(score.email());
+        if (bufferedBytes >= heapBudget) {
+            spill();
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int runs() {
+        return runs.size();
+    }
+
+    /**
+     * Streams every score added so far in ranking order, reading each run sequentially. Closing the stream deletes
+     * the runs; nothing may be added afterwards.
+     */
+    public Stream<CandidateScore> sorted() {
+        buffer.sort(CandidateScorer.BY_SCORE_THEN_ID);
+        if (runs.isEmpty()) {
+            return buffer.stream().onClose(this::close);
+        }
+
+        List<Iterator<CandidateScore>> sources = new ArrayList<>(runs.size() + 1);
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                sources.add(reader);
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Could not open ranking run", e);
+        }
+        sources.add(buffer.iterator());
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new Merge(sources), Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        for (RunReader reader : readers) {
+            reader.close();
+        }
+        readers.clear();
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                // Left for the temp directory's cleanup
+            }
+        }
+        runs.clear();
+        buffer.clear();
+    }
+
+    private void spill() {
+        buffer.sort(CandidateScorer.BY_SCORE_THEN_ID);
+        try {
+            Files.createDirectories(directory);
+            Path run = Files.createTempFile(directory, "ranking-", ".run");
+            runs.add(run);
+            try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                for (CandidateScore score : buffer) {
+                    write(channel, out, score);
+                }
+                flush(channel, out);
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Could not spill ranking run to " + directory, e);
+        }
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer out, CandidateScore score) throws IOException {
+        byte[] id = bytes(score.id());
+        byte[] name = bytes(score.name());
+        byte[] email = bytes(score.email());
+        int recordSize = RECORD_HEADER_SIZE + length(id) + length(name) + length(email);
+        if (out.remaining() < recordSize) {
+            flush(channel, out);
+        }
+        // A record larger than the whole buffer is written on its own
+        ByteBuffer target = recordSize <= out.capacity()
+                ? out
+                : ByteBuffer.allocate(recordSize).order(ByteOrder.LITTLE_ENDIAN);
+        target.putInt(score.score())
+                .putInt(id == null ? -1 : id.length)
+                .putInt(name == null ? -1 : name.length)
+                .putInt(email == null ? -1 : email.length);
+        for (byte[] value : new byte[][] {id, name, email}) {
+            if (value != null) {
+                target.put(value);
+            }
+        }
+        if (target != out) {
+            flush(channel, target);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static final class RunReader implements Iterator<CandidateScore>, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN).limit(0);
+
+        private RunReader(Path run) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return in.hasRemaining() || fill() > 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read ranking run", e);
+            }
+        }
+
+        @Override
+        public CandidateScore next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                require(RECORD_HEADER_SIZE);
+                int score = in.getInt();
+                int idLength = in.getInt();
+                int nameLength = in.getInt();
+                int emailLength = in.getInt();
+                return new CandidateScore(string(idLength), string(nameLength), string(emailLength), score);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read ranking run", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to read
+            }
+        }
+
+        private String string(int length) throws IOException {
+            if (length < 0) {
+                return null;
+            }
+            byte[] value = new byte[length];
+            int copied = 0;
+            while (copied < length) {
+                if (!in.hasRemaining() && fill() < 0) {
+                    throw new EOFException("Ranking run is truncated");
+                }
+                int chunk = Math.min(in.remaining(), length - copied);
+                in.get(value, copied, chunk);
+                copied += chunk;
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        private void require(int bytes) throws IOException {
+            while (in.remaining() < bytes) {
+                if (fill() < 0) {
+                    throw new EOFException("Ranking run is truncated");
+                }
+            }
+        }
+
+        private int fill() throws IOException {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            return read;
+        }
+    }
+
+    // Repeatedly takes the best head among the sorted sources
+    private static final class Merge implements Iterator<CandidateScore> {
+        private record Head(CandidateScore score, Iterator<CandidateScore> source) {}
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(
+                Comparator.comparing(Head::score, CandidateScorer.BY_SCORE_THEN_ID));
+
+        private Merge(List<Iterator<CandidateScore>> sources) {
+            for (Iterator<CandidateScore> source : sources) {
+                advance(source);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public CandidateScore next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.source());
+            return head.score();
+        }
+
+        private void advance(Iterator<CandidateScore> source) {
+            if (source.hasNext()) {
+                heads.add(new Head(source.next(), source));
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.exception.RetryLaterException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs rankings on their own bounded pool so that a burst of expensive rankings cannot take the request threads
+ * and heap the CRUD endpoints need. At most {@link #limit()} rankings run at once; further ones wait in a bounded
+ * queue for up to {@code queue-timeout} (then 503) and are refused outright once the queue is full (429), both with
+ * a {@code Retry-After} estimated from recent latency.
+ * <p>
+ * The limit adapts between {@code min-concurrency} and {@code max-concurrency}: it grows by one when a ranking
+ * finished within {@code target-latency} while the bulkhead was saturated, and shrinks by a quarter when a ranking
+ * overran the target or heap headroom fell below {@code min-heap-headroom}. Headroom is measured on the old
+ * generation as the last collection left it, so garbage not yet collected does not count as used.
+ */
+@Component
+public class RankingBulkhead {
+    private static final Logger logger = LoggerFactory.getLogger(RankingBulkhead.class);
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    // The tenured pool is the heap pool that supports a usage threshold; null if the collector has none
+    private static final MemoryPoolMXBean OLD_GENERATION = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported())
+            .findFirst()
+            .orElse(null);
+
+    private record Pending(Runnable task, CompletableFuture<?> future) {}
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final Duration queueTimeout;
+    private final Duration targetLatency;
+    private final double minHeapHeadroom;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final Deque<Pending> queue = new ArrayDeque<>();
+
+    // Guarded by this
+    private int limit;
+    private int inFlight;
+    private double averageLatencyNanos;
+
+    public RankingBulkhead(
+            @Value("${candidate-management.ranking.bulkhead.min-concurrency:1}") int minConcurrency,
+            @Value("${candidate-management.ranking.bulkhead.max-concurrency:4}") int maxConcurrency,
+            @Value("${candidate-management.ranking.bulkhead.queue-capacity:32}") int queueCapacity,
+            @Value("${candidate-management.ranking.bulkhead.queue-timeout:5s}") Duration queueTimeout,
+            @Value("${candidate-management.ranking.bulkhead.target-latency:2s}") Duration targetLatency,
+            @Value("${candidate-management.ranking.bulkhead.min-heap-headroom:0.15}") double minHeapHeadroom) {
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.queueCapacity = queueCapacity;
+        this.queueTimeout = queueTimeout;
+        this.targetLatency = targetLatency;
+        this.minHeapHeadroom = minHeapHeadroom;
+        this.limit = this.maxConcurrency;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(this.maxConcurrency, this.maxConcurrency,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ranking-bulkhead-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ranking-bulkhead-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeoutScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the ranking inside the bulkhead. The future fails with a {@link RetryLaterException} when the ranking is
+     * refused or waits too long, and otherwise with whatever the ranking itself threw. Cancelling the future gives
+     * up a queued ranking; one already running finishes and its result is dropped, closed first if it holds
+     * resources (a spilled ranking stream).
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> ranking) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> run(ranking, future);
+        synchronized (this) {
+            if (inFlight < limit && (inFlight == 0 || heapHeadroom() >= minHeapHeadroom)) {
+                inFlight++;
+                executor.execute(task);
+                return future;
+            }
+            if (queue.size() >= queueCapacity) {
+                future.completeExceptionally(new RetryLaterException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Too Many Rankings",
+                        "Too many rankings are in progress, retry later",
+                        retryAfter()));
+                return future;
+            }
+            Pending pending = new Pending(task, future);
+            queue.addLast(pending);
+            timeoutScheduler.schedule(() -> expire(pending), queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            future.whenComplete((result, e) -> {
+                if (future.isCancelled()) {
+                    abandon(pending);
+                }
+            });
+        }
+        return future;
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    // Frees the slot before completing, so a caller reacting to the result already sees the capacity
+    private <T> void run(Supplier<T> ranking, CompletableFuture<T> future) {
+        if (future.isDone()) {
+            // Cancelled between leaving the queue and getting a thread
+            release();
+            return;
+        }
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = ranking.get();
+        } catch (Throwable e) {
+            onFinished(System.nanoTime() - start);
+            future.completeExceptionally(e);
+            return;
+        }
+        onFinished(System.nanoTime() - start);
+        if (!future.complete(result) && result instanceof AutoCloseable resource) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Could not release an abandoned ranking", e);
+            }
+        }
+    }
+
+    private synchronized void onFinished(long latencyNanos) {
+        boolean saturated = inFlight >= limit;
+        inFlight--;
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latencyNanos
+                : averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+
+        if (latencyNanos > targetLatency.toNanos() || heapHeadroom() < minHeapHeadroom) {
+            int reduced = Math.max(minConcurrency, limit - Math.max(1, limit / 4));
+            if (reduced < limit) {
+                logger.debug("Ranking concurrency limit lowered to {}", reduced);
+                limit = reduced;
+            }
+        } else if (saturated && limit < maxConcurrency) {
+            limit++;
+        }
+        drain();
+    }
+
+    private synchronized void release() {
+        inFlight--;
+        drain();
+    }
+
+    // Guarded by this
+    private void drain() {
+        while (inFlight < limit && !queue.isEmpty()) {
+            inFlight++;
+            executor.execute(queue.pollFirst().task());
+        }
+    }
+
+    private synchronized void abandon(Pending pending) {
+        queue.remove(pending);
+    }
+
+    private void expire(Pending pending) {
+        synchronized (this) {
+            if (!queue.remove(pending)) {
+                return;
+            }
+        }
+        pending.future().completeExceptionally(new RetryLaterException(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Ranking Timed Out",
+                "The ranking waited " + queueTimeout.toMillis() + " ms without capacity, retry later",
+                retryAfter()));
+    }
+
+    /**
+     * Roughly how long until the current backlog has drained.
+     */
+    public synchronized Duration retryAfter() {
+        double rounds = (double) (queue.size() + inFlight) / limit;
+        return Duration.ofNanos((long) (Math.max(rounds, 1) * averageLatencyNanos));
+    }
+
+    private static double heapHeadroom() {
+        MemoryUsage afterCollection = OLD_GENERATION != null ? OLD_GENERATION.getCollectionUsage() : null;
+        if (afterCollection != null && afterCollection.getMax() > 0) {
+            return (double) (afterCollection.getMax() - afterCollection.getUsed()) / afterCollection.getMax();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (double) (runtime.maxMemory() - used) / runtime.maxMemory();
+    }
+}
@@ -0,0 +1,141 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.service.criteria.CriterionMatcher;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A vacancy's criteria resolved to their matchers once per ranking and ordered so that the heaviest (and, among
+ * equal weights, cheapest) criteria are evaluated first, or, once {@link CriterionStatistics} has observed them, the
+ * criteria expected to eliminate the most weight per nanosecond. That order lets
+ * {@link #scoreAtLeast(Candidate, int)} give up on a candidate as soon as the weight still to be evaluated cannot
+ * lift it to the threshold.
+ * <p>
+ * A plan counts evaluations and matches per criterion for {@link CriterionStatistics}, so it is confined to the
+ * ranking that built it.
+ */
+public class ScoringPlan {
+
+    /** Returned by {@link #scoreAtLeast(Candidate, int)} for candidates that cannot reach the threshold. */
+    public static final int EXCLUDED = Integer.MIN_VALUE;
+
+    record Step(Criterion criterion, CriterionMatcher matcher) {
+        int weight() {
+            return criterion.getWeight();
+        }
+    }
+
+    static final Comparator<Step> HEAVIEST_THEN_CHEAPEST = Comparator.comparingInt(Step::weight).reversed()
+            .thenComparingInt(step -> step.matcher().relativeCost());
+
+    private final Criterion[] criteria;
+    private final CriterionMatcher[] matchers;
+    private final int[] weights;
+    // remainingWeight[i] is the most criteria i..n-1 can still add
+    private final int[] remainingWeight;
+
+    // Every 64th candidate times each matcher call; timing them all would cost more than most matchers
+    private static final int TIMING_SAMPLE_MASK = 63;
+    private final long[] evaluations;
+    private final long[] matches;
+    private final long[] sampledEvaluations;
+    private final long[] sampledNanos;
+    private long candidatesScored;
+
+    ScoringPlan(List<Step> steps) {
+        int size = steps.size();
+        this.criteria = new Criterion[size];
+        this.matchers = new CriterionMatcher[size];
+        this.weights = new int[size];
+        this.remainingWeight = new int[size + 1];
+        this.evaluations = new long[size];
+        this.matches = new long[size];
+        this.sampledEvaluations = new long[size];
+        this.sampledNanos = new long[size];
+        for (int i = 0; i < size; i++) {
+            criteria[i] = steps.get(i).criterion();
+            matchers[i] = steps.get(i).matcher();
+            weights[i] = steps.get(i).weight();
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            remainingWeight[i] = remainingWeight[i + 1] + Math.max(weights[i], 0);
+        }
+    }
+
+    public int maxScore() {
+        return remainingWeight[0];
+    }
+
+    public int score(Candidate candidate) {
+        boolean timed = (candidatesScored++ & TIMING_SAMPLE_MASK) == 0;
+        int score = 0;
+        for (int i = 0; i < criteria.length; i++) {
+            if (evaluate(i, candidate, timed)) {
+                score += weights[i];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the candidate's score, or {@link #EXCLUDED} without evaluating the remaining criteria once the
+     * score can no longer reach {@code minScore}.
+     */
+    public int scoreAtLeast(Candidate candidate, int minScore) {
+        boolean timed = (candidatesScored++ & TIMING_SAMPLE_MASK) == 0;
+        int score = 0;
+        for (int i = 0; i < criteria.length; i++) {
+            if (score + remainingWeight[i] < minScore) {
+                return EXCLUDED;
+            }
+            if (evaluate(i, candidate, timed)) {
+                score += weights[i];
+            }
+        }
+        return score >= minScore ? score : EXCLUDED;
+    }
+
+    private boolean evaluate(int step, Candidate candidate, boolean timed) {
+        boolean matched;
+        if (timed) {
+            long start = System.nanoTime();
+            matched = matchers[step].matches(candidate, criteria[step]);
+            sampledNanos[step] += System.nanoTime() - start;
+            sampledEvaluations[step]++;
+        } else {
+            matched = matchers[step].matches(candidate, criteria[step]);
+        }
+        evaluations[step]++;
+        if (matched) {
+            matches[step]++;
+        }
+        return matched;
+    }
+
+    int size() {
+        return criteria.length;
+    }
+
+    Criterion criterion(int step) {
+        return criteria[step];
+    }
+
+    long evaluations(int step) {
+        return evaluations[step];
+    }
+
+    long matches(int step) {
+        return matches[step];
+    }
+
+    long sampledEvaluations(int step) {
+        return sampledEvaluations[step];
+    }
+
+    long sampledNanos(int step) {
+        return sampledNanos[step];
+    }
+}
@@ -0,0 +1,98 @@
+package com.candidatemanagement.service.ranking;
+
+import com.candidatemanagement.dto.CandidateScore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the best scores offered one at a time, in {@link CandidateScorer#BY_SCORE_THEN_ID} order. With a limit it
+ * keeps a min-heap of at most that many scores, so memory does not grow with the number offered, and once the heap
+ * is full its weakest score becomes the {@link #threshold()} below which candidates need not be scored to the end.
+ * <p>
+ * Without a limit every qualifying score is kept, so instead of a comparator sort the scores are bucketed by value:
+ * scores are bounded by the plan's weight sum, so bucketing is O(1) per score and only ties inside a bucket are
+ * ordered by id. Score ranges wider than {@value #MAX_BUCKETS} fall back to sorting a list.
+ */
+public final class TopScores {
+
+    static final int MAX_BUCKETS = 4096;
+
+    private static final Comparator<CandidateScore> BY_ID =
+            Comparator.comparing(CandidateScore::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final int minScore;
+    private final int limit;
+    // Min-heap on ranking order when limited: the head is the weakest score kept so far
+    private final PriorityQueue<CandidateScore> topK;
+    // Bucket b holds score minScore + b; allocated when the first such score arrives
+    private final List<CandidateScore>[] buckets;
+    private final List<CandidateScore> all;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TopScores(int minScore, int limit, int maxScore) {
+        this.minScore = minScore;
+        this.limit = limit;
+        boolean unlimited = limit == Integer.MAX_VALUE;
+        long range = (long) maxScore - minScore + 1;
+        boolean bucketed = unlimited && range > 0 && range <= MAX_BUCKETS;
+        this.topK = unlimited ? null : new PriorityQueue<>(CandidateScorer.BY_SCORE_THEN_ID.reversed());
+        this.buckets = bucketed ? new List[(int) range] : null;
+        this.all = unlimited && !bucketed ? new ArrayList<>() : null;
+    }
+
+    /**
+     * The lowest score that can still make it in. A candidate scoring below a full top-K's weakest entry can never
+     * enter it; equal scores still compete on id.
+     */
+    public int threshold() {
+        return topK == null || topK.size() < limit ? minScore : Math.max(minScore, topK.peek().score());
+    }
+
+    public void offer(CandidateScore score) {
+        if (limit <= 0) {
+            return;
+        }
+        if (buckets != null) {
+            int b = score.score() - minScore;
+            if (buckets[b] == null) {
+                buckets[b] = new ArrayList<>();
+            }
+            buckets[b].add(score);
+            size++;
+        } else if (all != null) {
+            all.add(score);
+        } else if (topK.size() < limit) {
+            topK.add(score);
+        } else if (CandidateScorer.BY_SCORE_THEN_ID.compare(score, topK.peek()) < 0) {
+            topK.poll();
+            topK.add(score);
+        }
+    }
+
+    public int size() {
+        if (buckets != null) {
+            return size;
+        }
+        return topK == null ? all.size() : topK.size();
+    }
+
+    public List<CandidateScore> sorted() {
+        if (buckets != null) {
+            List<CandidateScore> result = new ArrayList<>(size);
+            for (int b = buckets.length - 1; b >= 0; b--) {
+                if (buckets[b] != null) {
+                    buckets[b].sort(BY_ID);
+                    result.addAll(buckets[b]);
+                }
+            }
+            return result;
+        }
+        List<CandidateScore> result = topK == null ? all : new ArrayList<>(topK);
+        result.sort(CandidateScorer.BY_SCORE_THEN_ID);
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+package com.candidatemanagement.service.ranking.distributed;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
+import com.candidatemanagement.exception.ApiErrorTemplate;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.service.CandidateRankingService;
+import com.candidatemanagement.service.VacancyService;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scatter-gather ranking: every partition computes its local top-K through the {@link RankingTransport} and the
+ * coordinator k-way merges the sorted partial results. Enabled with {@code candidate-management.ranking.mode=distributed}.
+ * <p>
+ * A ranking given a deadline waits for the partitions until then and merges those that answered into a partial
+ * result, its coverage being the share of partitions included.
+ */
+@Service
+@ConditionalOnProperty(prefix = "candidate-management.ranking", name = "mode", havingValue = "distributed")
+public class DistributedCandidateRankingService implements CandidateRankingService {
+
+    private final VacancyService vacancyService;
+    private final RankingTransport rankingTransport;
+    private final Duration gatherTimeout;
+
+    public DistributedCandidateRankingService(
+            VacancyService vacancyService,
+            RankingTransport rankingTransport,
+            @Value("${candidate-management.ranking.gather-timeout:30s}") Duration gatherTimeout) {
+        this.vacancyService = vacancyService;
+        this.rankingTransport = rankingTransport;
+        this.gatherTimeout = gatherTimeout;
+    }
+
+    @Override
+    public List<CandidateRankingDto> rankCandidatesForVacancy(String vacancyId, RankingQuery query) {
+        List<CompletableFuture<List<CandidateScore>>> scattered = scatter(vacancyId, query);
+        try {
+            await(scattered, gatherTimeout);
+        } catch (TimeoutException e) {
+            scattered.forEach(future -> future.cancel(true));
+            throw rankingUnavailable(e);
+        }
+        List<List<CandidateScore>> partials = scattered.stream().map(CompletableFuture::join).toList();
+        return CandidateScorer.toRankings(merge(partials, query.effectiveLimit()));
+    }
+
+    @Override
+    public RankingResult rankCandidatesForVacancy(String vacancyId, RankingQuery query, Instant deadline) {
+        if (deadline == null) {
+            return RankingResult.complete(rankCandidatesForVacancy(vacancyId, query));
+        }
+        List<CompletableFuture<List<CandidateScore>>> scattered = scatter(vacancyId, query);
+        Duration untilDeadline = Duration.between(Instant.now(), deadline);
+        try {
+            await(scattered, untilDeadline.compareTo(gatherTimeout) < 0 ? untilDeadline : gatherTimeout);
+        } catch (TimeoutException e) {
+            // Partitions still ranking are left out below
+        }
+
+        List<List<CandidateScore>> answered = scattered.stream()
+                .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .toList();
+        scattered.forEach(future -> future.cancel(true));
+        List<CandidateRankingDto> rankings =
+                CandidateScorer.toRankings(merge(answered, query.effectiveLimit()));
+        return answered.size() == scattered.size()
+                ? RankingResult.complete(rankings)
+                : RankingResult.partial(rankings, answered.size(), scattered.size());
+    }
+
+    private List<CompletableFuture<List<CandidateScore>>> scatter(String vacancyId, RankingQuery query) {
+        Vacancy vacancy = vacancyService.getVacancyById(vacancyId)
+                .orElseThrow(() -> ApiErrorTemplate.VACANCY_NOT_FOUND.exception(
+                    "Vacancy with id " + vacancyId + " not found"));
+
+        List<CompletableFuture<List<CandidateScore>>> scattered = new ArrayList<>();
+        for (int partition = 0; partition < rankingTransport.partitionCount(); partition++) {
+            scattered.add(rankingTransport.rankPartition(partition, vacancy, query));
+        }
+        return scattered;
+    }
+
+    // Waits for every partition; a failed partition fails the ranking, a slow one is left to the caller
+    private void await(List<CompletableFuture<List<CandidateScore>>> scattered, Duration timeout) throws TimeoutException {
+        try {
+            CompletableFuture.allOf(scattered.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, timeout.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rankingUnavailable(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GenericApiException apiException) {
+                throw apiException;
+            }
+            throw rankingUnavailable(e.getCause());
+        }
+    }
+
+    // K-way merge of partition results that are each sorted in ranking order
+    private static List<CandidateScore> merge(List<List<CandidateScore>> partials, int limit) {
+        record Cursor(List<CandidateScore> scores, int position) {
+            CandidateScore head() {
+                return scores.get(position);
+            }
+        }
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(
+                Comparator.comparing(Cursor::head, CandidateScorer.BY_SCORE_THEN_ID));
+        int total = 0;
+        for (List<CandidateScore> partial : partials) {
+            total += partial.size();
+            if (!partial.isEmpty()) {
+                heads.add(new Cursor(partial, 0));
+            }
+        }
+
+        List<CandidateScore> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.position() + 1 < cursor.scores().size()) {
+                heads.add(new Cursor(cursor.scores(), cursor.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private GenericApiException rankingUnavailable(Throwable cause) {
+        return new GenericApiException(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Ranking Unavailable",
+            "Not all candidate partitions answered in time",
+            cause
+        );
+    }
+}
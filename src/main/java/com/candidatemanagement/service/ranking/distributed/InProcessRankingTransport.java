@@ -0,0 +1,247 @@
+package com.candidatemanagement.service.ranking.distributed;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.CriterionStatistics;
+import com.candidatemanagement.service.ranking.snapshot.CandidateSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Hosts every {@link RankingNode} in this JVM and runs their local rankings in parallel. Partitions are kept
+ * current from {@link EntityChangedEvent}s, applied in arrival order on a dedicated thread so that the Mongo
+ * lookup of a changed candidate never runs on the thread that published the change.
+ * <p>
+ * Each partition is persisted as a memory-mapped {@link CandidateSnapshot} under
+ * {@code candidate-management.ranking.snapshot-directory}. On restart the snapshots are mapped and served
+ * immediately while a full reload from Mongo catches up in the background; without usable snapshots the first
+ * ranking waits for that reload.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.ranking", name = "mode", havingValue = "distributed")
+public class InProcessRankingTransport implements RankingTransport {
+    private static final Logger logger = LoggerFactory.getLogger(InProcessRankingTransport.class);
+
+    private final CandidateRepository candidateRepository;
+    private final Path snapshotDirectory;
+    private final List<RankingNode> nodes;
+    private final ExecutorService executor;
+    private final ExecutorService catchUpExecutor;
+    private final ExecutorService updateExecutor;
+
+    private volatile boolean loaded = false;
+
+    public InProcessRankingTransport(
+            CandidateRepository candidateRepository,
+            CriterionMatcherFactory criterionMatcherFactory,
+            CriterionStatistics statistics,
+            @Value("${candidate-management.ranking.partitions:4}") int partitions,
+            @Value("${candidate-management.ranking.snapshot-directory:${java.io.tmpdir}/candidate-management}") Path snapshotDirectory) {
+        this.candidateRepository = candidateRepository;
+        this.snapshotDirectory = snapshotDirectory;
+        CandidateScorer candidateScorer = new CandidateScorer(criterionMatcherFactory, statistics);
+        this.nodes = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            nodes.add(new RankingNode(i, candidateScorer));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable, "ranking-node-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.catchUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ranking-catch-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ranking-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int partitionCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public CompletableFuture<List<CandidateScore>> rankPartition(int partition, Vacancy vacancy, RankingQuery query) {
+        ensureLoaded();
+        RankingNode node = nodes.get(partition);
+        return CompletableFuture.supplyAsync(() -> node.rankLocal(vacancy, query), executor);
+    }
+
+    /**
+     * Reloads every partition from Mongo, writing and mapping fresh snapshot files. A reload that fails, however it
+     * fails, leaves the previous snapshots in place and no temporary files behind.
+     */
+    public synchronized void reload() {
+        long[] loadedFrom = new long[nodes.size()];
+        List<CandidateSnapshot.Writer> writers = new ArrayList<>(nodes.size());
+        List<List<Candidate>> unrepresentable = new ArrayList<>(nodes.size());
+        boolean written = false;
+        try {
+            for (RankingNode node : nodes) {
+                loadedFrom[node.getPartition()] = node.currentSequence();
+                writers.add(CandidateSnapshot.writer(snapshotFile(node.getPartition()), node.getPartition(), nodes.size()));
+                unrepresentable.add(new ArrayList<>());
+            }
+            try (Stream<Candidate> candidates = candidateRepository.streamAllBy()) {
+                candidates.forEach(candidate -> {
+                    int partition = RankingNode.partitionOf(candidate.getId(), nodes.size());
+                    try {
+                        if (!writers.get(partition).append(candidate)) {
+                            unrepresentable.get(partition).add(candidate);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            for (CandidateSnapshot.Writer writer : writers) {
+                writer.close();
+            }
+            written = true;
+            for (RankingNode node : nodes) {
+                node.replaceBase(CandidateSnapshot.open(snapshotFile(node.getPartition())), loadedFrom[node.getPartition()]);
+                unrepresentable.get(node.getPartition()).forEach(node::put);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write candidate snapshots to " + snapshotDirectory, e);
+        } finally {
+            if (!written) {
+                writers.forEach(CandidateSnapshot.Writer::abandon);
+            }
+        }
+        loaded = true;
+        logger.info("Loaded {} candidate partitions from Mongo", nodes.size());
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!loaded || !Candidate.COLLECTION.equals(event.collection())) {
+            return;
+        }
+        if (event.isCollectionWide()) {
+            catchUpExecutor.execute(this::reload);
+            return;
+        }
+
+        updateExecutor.execute(() -> {
+            try {
+                apply(event);
+            } catch (RuntimeException e) {
+                logger.warn("Could not apply change of candidate {} to its partition: {}", event.id(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Waits until every change received so far has been applied to its partition. Exposed for tests.
+     */
+    public void awaitUpdates(Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture.runAsync(() -> {}, updateExecutor).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void apply(EntityChangedEvent event) {
+        RankingNode owner = nodes.get(RankingNode.partitionOf(event.id(), nodes.size()));
+        if (event.deleted()) {
+            owner.remove(event.id());
+        } else {
+            candidateRepository.findById(event.id())
+                    .ifPresentOrElse(owner::put, () -> owner.remove(event.id()));
+        }
+    }
+
+    /**
+     * Persists the current view of every partition so the next start can serve it straight from disk.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        catchUpExecutor.shutdownNow();
+        updateExecutor.shutdownNow();
+        if (!loaded) {
+            return;
+        }
+        synchronized (this) {
+            for (RankingNode node : nodes) {
+                try (CandidateSnapshot.Writer writer = CandidateSnapshot.writer(
+                        snapshotFile(node.getPartition()), node.getPartition(), nodes.size())) {
+                    node.writeSnapshot(writer);
+                } catch (IOException e) {
+                    logger.warn("Could not persist snapshot of partition {}: {}", node.getPartition(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded && !mapExistingSnapshots()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private boolean mapExistingSnapshots() {
+        List<CandidateSnapshot> snapshots = new ArrayList<>(nodes.size());
+        for (RankingNode node : nodes) {
+            Path file = snapshotFile(node.getPartition());
+            try {
+                snapshots.add(CandidateSnapshot.open(file));
+            } catch (IOException e) {
+                logger.info("No usable candidate snapshot at {}: {}", file, e.getMessage());
+                return false;
+            }
+        }
+        for (RankingNode node : nodes) {
+            node.replaceBase(snapshots.get(node.getPartition()), -1);
+        }
+        loaded = true;
+        logger.info("Serving rankings from candidate snapshots in {}, catching up from Mongo", snapshotDirectory);
+        catchUpExecutor.execute(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                logger.warn("Catch-up from Mongo failed, still serving snapshots: {}", e.getMessage());
+            }
+        });
+        return true;
+    }
+
+    private Path snapshotFile(int partition) {
+        return CandidateSnapshot.fileFor(snapshotDirectory, partition, nodes.size());
+    }
+}
@@ -0,0 +1,136 @@
+package com.candidatemanagement.service.ranking.distributed;
+
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.ScoringPlan;
+import com.candidatemanagement.service.ranking.TopScores;
+import com.candidatemanagement.service.ranking.snapshot.CandidateSnapshot;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One member of a distributed ranking: holds the hash partition of candidates it owns and computes the local
+ * top-K for a vacancy. Candidates are assigned with {@link #partitionOf(String, int)}.
+ * <p>
+ * The bulk of the partition lives off-heap in a memory-mapped {@link CandidateSnapshot}; writes seen since the
+ * snapshot was taken are kept in a small on-heap overlay that shadows snapshot records with the same id.
+ * Names and emails are read from the snapshot only for the candidates a ranking keeps.
+ */
+public class RankingNode {
+
+    private final int partition;
+    private final CandidateScorer candidateScorer;
+    private final Map<String, OverlayEntry> overlay = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile CandidateSnapshot base = CandidateSnapshot.empty();
+
+    // A null candidate marks a deletion
+    private record OverlayEntry(long sequence, Candidate candidate) {
+    }
+
+    public RankingNode(int partition, CandidateScorer candidateScorer) {
+        this.partition = partition;
+        this.candidateScorer = candidateScorer;
+    }
+
+    public static int partitionOf(String candidateId, int partitionCount) {
+        return Math.floorMod(candidateId.hashCode(), partitionCount);
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public void put(Candidate candidate) {
+        overlay.put(candidate.getId(), new OverlayEntry(sequence.incrementAndGet(), candidate));
+    }
+
+    public void remove(String candidateId) {
+        overlay.put(candidateId, new OverlayEntry(sequence.incrementAndGet(), null));
+    }
+
+    /**
+     * Returns a marker to pass to {@link #replaceBase(CandidateSnapshot, long)} once a reload that started now
+     * has completed.
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Swaps in a freshly loaded snapshot and drops overlay entries it already reflects, i.e. those recorded
+     * before {@code loadedFrom} was taken.
+     */
+    public void replaceBase(CandidateSnapshot snapshot, long loadedFrom) {
+        base = snapshot;
+        overlay.values().removeIf(entry -> entry.sequence() <= loadedFrom);
+    }
+
+    /**
+     * Writes the partition as currently seen (snapshot plus overlay) to a new snapshot file. Candidates that do
+     * not fit the fixed record layout are skipped; they are picked up again by the next reload from Mongo.
+     */
+    public void writeSnapshot(CandidateSnapshot.Writer writer) throws IOException {
+        CandidateSnapshot snapshot = base;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!overlay.containsKey(snapshot.idAt(i))) {
+                Candidate candidate = new Candidate(snapshot.nameAt(i), snapshot.emailAt(i), null, null, null);
+                snapshot.readInto(i, candidate);
+                writer.append(candidate);
+            }
+        }
+        for (OverlayEntry entry : overlay.values()) {
+            if (entry.candidate() != null) {
+                writer.append(entry.candidate());
+            }
+        }
+    }
+
+    /**
+     * Returns at most {@code query.limit()} scores of this partition that reach {@code query.minScore()}, sorted by
+     * {@link CandidateScorer#BY_SCORE_THEN_ID}. Once the top-K is full its weakest score becomes the threshold, so
+     * candidates that cannot displace it stop being evaluated early.
+     */
+    public List<CandidateScore> rankLocal(Vacancy vacancy, RankingQuery query) {
+        int limit = query.effectiveLimit();
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        ScoringPlan plan = candidateScorer.plan(vacancy);
+        TopScores topK = new TopScores(query.effectiveMinScore(), limit, plan.maxScore());
+
+        CandidateSnapshot snapshot = base;
+        Candidate flyweight = new Candidate(null, null, null, null, null);
+        for (int i = 0; i < snapshot.size(); i++) {
+            String id = snapshot.idAt(i);
+            if (overlay.isEmpty() || !overlay.containsKey(id)) {
+                snapshot.readInto(i, flyweight);
+                int score = plan.scoreAtLeast(flyweight, topK.threshold());
+                if (score != ScoringPlan.EXCLUDED) {
+                    topK.offer(new CandidateScore(id, snapshot.nameAt(i), snapshot.emailAt(i), score));
+                }
+            }
+        }
+        for (OverlayEntry entry : overlay.values()) {
+            Candidate candidate = entry.candidate();
+            if (candidate != null) {
+                int score = plan.scoreAtLeast(candidate, topK.threshold());
+                if (score != ScoringPlan.EXCLUDED) {
+                    topK.offer(new CandidateScore(candidate.getId(), candidate.getName(), candidate.getEmail(), score));
+                }
+            }
+        }
+
+        candidateScorer.record(vacancy, plan, null);
+        return topK.sorted();
+    }
+}
@@ -0,0 +1,24 @@
+package com.candidatemanagement.service.ranking.distributed;
+
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.model.Vacancy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries scatter requests from the ranking coordinator to the {@link RankingNode} owning each partition. The
+ * in-process implementation hosts every partition in this JVM; a networked implementation would call the node
+ * that owns the partition.
+ */
+public interface RankingTransport {
+
+    int partitionCount();
+
+    /**
+     * Asks the node owning {@code partition} for its local top-K of candidates reaching the query's minimum
+     * score, sorted by {@link com.candidatemanagement.service.ranking.CandidateScorer#BY_SCORE_THEN_ID}.
+     */
+    CompletableFuture<List<CandidateScore>> rankPartition(int partition, Vacancy vacancy, RankingQuery query);
+}
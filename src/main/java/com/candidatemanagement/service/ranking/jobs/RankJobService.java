@@ -0,0 +1,159 @@
+package com.candidatemanagement.service.ranking.jobs;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.exception.ApiErrorTemplate;
+import com.candidatemanagement.exception.BusinessException;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.exception.RetryLaterException;
+import com.candidatemanagement.model.RankJob;
+import com.candidatemanagement.model.RankJobPage;
+import com.candidatemanagement.service.CandidateRankingService;
+import com.candidatemanagement.service.VacancyService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs rankings as background jobs for pools too large to rank within a request. A job is recorded in Mongo when
+ * it is accepted, runs on a pool of {@code workers} threads with room for {@code queue-capacity} waiting jobs
+ * (beyond that submissions are refused with 429), and writes its result in pages of {@code page-size} rankings
+ * that can be read while later pages are still being written. Jobs and results are kept for {@code retention}.
+ */
+@Service
+public class RankJobService {
+    private static final Logger logger = LoggerFactory.getLogger(RankJobService.class);
+
+    private final RankJobStore store;
+    private final CandidateRankingService rankingService;
+    private final VacancyService vacancyService;
+    private final int pageSize;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ThreadPoolExecutor workers;
+
+    public RankJobService(
+            RankJobStore store,
+            CandidateRankingService rankingService,
+            VacancyService vacancyService,
+            @Value("${candidate-management.rank-jobs.workers:2}") int workers,
+            @Value("${candidate-management.rank-jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${candidate-management.rank-jobs.page-size:1000}") int pageSize,
+            @Value("${candidate-management.rank-jobs.retention:24h}") Duration retention) {
+        this.store = store;
+        this.rankingService = rankingService;
+        this.vacancyService = vacancyService;
+        this.pageSize = pageSize;
+        this.retention = retention;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "rank-job-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        try {
+            store.failUnfinished(nodeId, "The server shut down before the job finished", Instant.now());
+        } catch (RuntimeException e) {
+            logger.debug("Could not fail unfinished rank jobs: {}", e.getMessage());
+        }
+    }
+
+    public RankJob submit(String vacancyId, RankingQuery query) {
+        if (vacancyService.getVacancyById(vacancyId).isEmpty()) {
+            throw ApiErrorTemplate.VACANCY_NOT_FOUND.exception("Vacancy with id " + vacancyId + " not found");
+        }
+
+        Instant now = Instant.now();
+        RankJob job = store.insert(new RankJob(
+                vacancyId, query.limit(), query.minScore(), pageSize, nodeId, now, now.plus(retention)));
+        try {
+            workers.execute(() -> run(job, query));
+        } catch (RejectedExecutionException e) {
+            store.markFailed(job.getId(), "Refused, too many rank jobs were queued", Instant.now());
+            throw new RetryLaterException(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Rank Jobs",
+                "Too many rank jobs are queued, retry later",
+                Duration.ofSeconds(30)
+            );
+        }
+        return job;
+    }
+
+    public RankJob getJob(String vacancyId, String jobId) {
+        return store.find(jobId)
+                .filter(job -> job.getVacancyId().equals(vacancyId))
+                .orElseThrow(() -> ApiErrorTemplate.RANK_JOB_NOT_FOUND.exception(
+                    "Rank job with id " + jobId + " not found"));
+    }
+
+    /**
+     * Returns a written page of the job's results. Asking for a page that is not written yet is a 409 while the job
+     * may still write it, and a 404 once it cannot.
+     */
+    public RankJobPage getPage(String vacancyId, String jobId, int page) {
+        RankJob job = getJob(vacancyId, jobId);
+        if (page < 0 || page >= job.getPagesWritten()) {
+            if (page >= 0 && !job.getStatus().isFinished()) {
+                throw ApiErrorTemplate.RESULTS_NOT_READY.exception(
+                    "Page " + page + " of rank job " + jobId + " has not been written yet");
+            }
+            throw pageNotFound(jobId, page);
+        }
+        return store.findPage(jobId, page).orElseThrow(() -> pageNotFound(jobId, page));
+    }
+
+    private static BusinessException pageNotFound(String jobId, int page) {
+        return ApiErrorTemplate.PAGE_NOT_FOUND.exception("Rank job " + jobId + " has no page " + page);
+    }
+
+    private void run(RankJob job, RankingQuery query) {
+        if (!store.markRunning(job.getId(), Instant.now())) {
+            return;
+        }
+        try {
+            int total = 0;
+            try (Stream<CandidateRankingDto> rankings = rankingService.streamRankingForVacancy(job.getVacancyId(), query)) {
+                List<CandidateRankingDto> page = new ArrayList<>(pageSize);
+                Iterator<CandidateRankingDto> iterator = rankings.iterator();
+                while (iterator.hasNext()) {
+                    page.add(iterator.next());
+                    if (page.size() == pageSize || !iterator.hasNext()) {
+                        store.appendPage(job, total / pageSize, List.copyOf(page));
+                        total += page.size();
+                        page.clear();
+                    }
+                }
+            }
+            store.markSucceeded(job.getId(), total, Instant.now());
+        } catch (GenericApiException e) {
+            store.markFailed(job.getId(), e.getMessage(), Instant.now());
+        } catch (RuntimeException e) {
+            logger.warn("Rank job {} failed", job.getId(), e);
+            store.markFailed(job.getId(), "The ranking failed unexpectedly", Instant.now());
+        }
+    }
+}
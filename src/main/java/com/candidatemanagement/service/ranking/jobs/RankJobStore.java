@@ -0,0 +1,97 @@
+package com.candidatemanagement.service.ranking.jobs;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.model.RankJob;
+import com.candidatemanagement.model.RankJobPage;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mongo access for rank jobs and their result pages. Status changes are conditional partial updates, so a job that
+ * has finished is never moved back to running or failed by a late writer.
+ */
+@Component
+public class RankJobStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public RankJobStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public RankJob insert(RankJob job) {
+        return mongoTemplate.insert(job);
+    }
+
+    public Optional<RankJob> find(String jobId) {
+        return Optional.ofNullable(mongoTemplate.findById(jobId, RankJob.class));
+    }
+
+    public Optional<RankJobPage> findPage(String jobId, int page) {
+        return Optional.ofNullable(mongoTemplate.findById(RankJobPage.idOf(jobId, page), RankJobPage.class));
+    }
+
+    /**
+     * Moves a queued job to running; fails when it is no longer queued.
+     */
+    public boolean markRunning(String jobId, Instant startedAt) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(jobId).and("status").is(RankJob.Status.QUEUED)),
+                new Update().set("status", RankJob.Status.RUNNING).set("startedAt", startedAt),
+                RankJob.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Stores the next page and makes it readable by advancing {@code pagesWritten}.
+     */
+    public void appendPage(RankJob job, int page, List<CandidateRankingDto> rankings) {
+        mongoTemplate.save(new RankJobPage(job.getId(), page, rankings, job.getExpiresAt()));
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(job.getId())),
+                new Update().max("pagesWritten", page + 1),
+                RankJob.class);
+    }
+
+    public void markSucceeded(String jobId, long total, Instant finishedAt) {
+        finish(jobId, new Update()
+                .set("status", RankJob.Status.SUCCEEDED)
+                .set("total", total)
+                .set("finishedAt", finishedAt));
+    }
+
+    public void markFailed(String jobId, String error, Instant finishedAt) {
+        finish(jobId, new Update()
+                .set("status", RankJob.Status.FAILED)
+                .set("error", error)
+                .set("finishedAt", finishedAt));
+    }
+
+    /**
+     * Fails every job the given node accepted but has not finished, e.g. because it is shutting down.
+     */
+    public long failUnfinished(String nodeId, String error, Instant finishedAt) {
+        return mongoTemplate.updateMulti(
+                Query.query(Criteria.where("nodeId").is(nodeId)
+                        .and("status").in(RankJob.Status.QUEUED, RankJob.Status.RUNNING)),
+                new Update()
+                        .set("status", RankJob.Status.FAILED)
+                        .set("error", error)
+                        .set("finishedAt", finishedAt),
+                RankJob.class).getModifiedCount();
+    }
+
+    private void finish(String jobId, Update update) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(jobId)
+                        .and("status").in(RankJob.Status.QUEUED, RankJob.Status.RUNNING)),
+                update,
+                RankJob.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.candidatemanagement.service.ranking.precompute;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.model.PrecomputedRanking;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Mongo access for precomputed rankings and the cluster-wide lease that decides which node computes them.
+ * Rankings are written with partial updates so that read counts and invalidations reported concurrently by other
+ * nodes are never overwritten.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.precompute", name = "enabled", havingValue = "true")
+public class PrecomputedRankingStore {
+
+    static final String LEASE_COLLECTION = "ranking_leases";
+    static final String LEASE_ID = "ranking-precompute";
+
+    private final MongoTemplate mongoTemplate;
+
+    public PrecomputedRankingStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Optional<PrecomputedRanking> find(String vacancyId) {
+        return Optional.ofNullable(mongoTemplate.findById(vacancyId, PrecomputedRanking.class));
+    }
+
+    /**
+     * Vacancies with a stored ranking, most read first.
+     */
+    public List<PrecomputedRanking> findAllByReads() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "readScore"));
+        query.fields().exclude("rankings");
+        return mongoTemplate.find(query, PrecomputedRanking.class);
+    }
+
+    public void save(String vacancyId, List<CandidateRankingDto> rankings, boolean complete, Instant computedAt) {
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(vacancyId)),
+                new Update()
+                        .set("rankings", rankings)
+                        .set("complete", complete)
+                        .set("computedAt", computedAt),
+                PrecomputedRanking.class);
+    }
+
+    public void delete(String vacancyId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(vacancyId)), PrecomputedRanking.class);
+    }
+
+    /**
+     * Marks every stored ranking as possibly stale since {@code changedAt}; later reports never move it back.
+     */
+    public void invalidateAll(Instant changedAt) {
+        mongoTemplate.updateMulti(new Query(), new Update().max("invalidatedAt", changedAt), PrecomputedRanking.class);
+    }
+
+    /**
+     * Adds to the read scores of rankings already stored; a vacancy gets its document when its ranking is first saved.
+     */
+    public void addReads(Map<String, Long> reads) {
+        if (reads.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PrecomputedRanking.class);
+        reads.forEach((vacancyId, count) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(vacancyId)),
+                new Update().inc("readScore", count)));
+        bulk.execute();
+    }
+
+    /**
+     * Ages every read score so that the priority follows recent rather than all-time demand.
+     */
+    public void decayReads(double factor) {
+        mongoTemplate.updateMulti(new Query(), new Update().multiply("readScore", factor), PrecomputedRanking.class);
+    }
+
+    /**
+     * Takes or renews the lease for {@code ttl}. Fails while another owner holds an unexpired lease.
+     */
+    public boolean acquireLease(String owner, Duration ttl) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", owner).set("expiresAt", now.plus(ttl));
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, LEASE_COLLECTION) != null;
+        } catch (DuplicateKeyException e) {
+            // The lease exists and belongs to someone else, so the upsert tried to insert a second one
+            return false;
+        }
+    }
+
+    public void releaseLease(String owner) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner)), LEASE_COLLECTION);
+    }
+}
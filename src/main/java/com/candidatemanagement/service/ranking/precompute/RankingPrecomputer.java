@@ -0,0 +1,316 @@
+package com.candidatemanagement.service.ranking.precompute;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.model.PrecomputedRanking;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.routing.ReadRouting;
+import com.candidatemanagement.service.CandidateRankingService;
+import com.candidatemanagement.service.VacancyService;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps every vacancy's ranking precomputed in Mongo so the rank endpoint rarely computes on the request path.
+ * <p>
+ * Every node reports its reads each {@code interval}, and the writes it sees as soon as they happen so that no node
+ * serves a ranking as fresh for long after a write elsewhere. Only the node holding the Mongo lease recomputes. Each
+ * {@code interval} the lease holder recomputes the rankings that are missing or invalidated. It starts with the
+ * most read vacancies and waits {@code quiet-period} after the last write so a burst is recomputed once. It also
+ * skips ticks while rankings queue on the bulkhead, and sleeps between rankings so precomputation uses at most
+ * {@code cpu-budget} of its thread's time.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.precompute", name = "enabled", havingValue = "true")
+public class RankingPrecomputer {
+    private static final Logger logger = LoggerFactory.getLogger(RankingPrecomputer.class);
+
+    /** A precomputed ranking served in place of a live one. */
+    public record PrecomputedResult(List<CandidateRankingDto> rankings, Instant computedAt, boolean fresh) {}
+
+    private final PrecomputedRankingStore store;
+    private final CandidateRankingService rankingService;
+    private final VacancyService vacancyService;
+    private final RankingBulkhead rankingBulkhead;
+    private final String nodeId;
+    private final Duration interval;
+    private final Duration leaseTtl;
+    private final Duration quietPeriod;
+    private final double cpuBudget;
+    private final Duration maxStale;
+    private final int storedLimit;
+    private final double readDecay;
+
+    private final Map<String, LongAdder> reads = new ConcurrentHashMap<>();
+    private final Set<String> refreshRequests = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-precompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writeReporter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-precompute-writes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean writeReportPending = new AtomicBoolean();
+
+    private volatile Instant lastChangeAt = Instant.EPOCH;
+    // Guarded by this
+    private Instant lastReportedChangeAt = Instant.EPOCH;
+
+    public RankingPrecomputer(
+            PrecomputedRankingStore store,
+            CandidateRankingService rankingService,
+            VacancyService vacancyService,
+            RankingBulkhead rankingBulkhead,
+            @Value("${candidate-management.precompute.node-id:${random.uuid}}") String nodeId,
+            @Value("${candidate-management.precompute.interval:10s}") Duration interval,
+            @Value("${candidate-management.precompute.lease-ttl:60s}") Duration leaseTtl,
+            @Value("${candidate-management.precompute.quiet-period:2s}") Duration quietPeriod,
+            @Value("${candidate-management.precompute.cpu-budget:0.25}") double cpuBudget,
+            @Value("${candidate-management.precompute.max-stale:5m}") Duration maxStale,
+            @Value("${candidate-management.precompute.stored-limit:1000}") int storedLimit,
+            @Value("${candidate-management.precompute.read-decay:0.9}") double readDecay) {
+        this.store = store;
+        this.rankingService = rankingService;
+        this.vacancyService = vacancyService;
+        this.rankingBulkhead = rankingBulkhead;
+        this.nodeId = nodeId;
+        this.interval = interval;
+        this.leaseTtl = leaseTtl;
+        this.quietPeriod = quietPeriod;
+        this.cpuBudget = Math.min(1, Math.max(cpuBudget, 0.01));
+        this.maxStale = maxStale;
+        this.storedLimit = storedLimit;
+        this.readDecay = readDecay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::safeTick, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        writeReporter.shutdownNow();
+        try {
+            store.releaseLease(nodeId);
+        } catch (RuntimeException e) {
+            logger.debug("Could not release the precompute lease: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A burst of writes is reported with one invalidation: a write arriving while one is pending is covered by it.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        lastChangeAt = Instant.now();
+        if (Vacancy.COLLECTION.equals(event.collection()) && event.deleted() && !event.isCollectionWide()) {
+            store.delete(event.id());
+        }
+        if (writeReportPending.compareAndSet(false, true)) {
+            writeReporter.execute(() -> {
+                writeReportPending.set(false);
+                try {
+                    reportWrites();
+                } catch (RuntimeException e) {
+                    // The next tick reports it again
+                    logger.warn("Could not invalidate precomputed rankings: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the precomputed ranking when it can answer the query: current, or stale by at most {@code max-stale},
+     * in which case a refresh is requested. Every lookup of an existing vacancy counts as a read of it.
+     */
+    public Optional<PrecomputedResult> lookup(String vacancyId, RankingQuery query) {
+        Optional<PrecomputedRanking> stored = store.find(vacancyId);
+        if (stored.isEmpty() || stored.get().getComputedAt() == null) {
+            // Nothing stored says the id is a vacancy; an unknown one is left to the live ranking to reject
+            if (vacancyService.getVacancyById(vacancyId).isPresent()) {
+                countRead(vacancyId);
+                refreshRequests.add(vacancyId);
+            }
+            return Optional.empty();
+        }
+        countRead(vacancyId);
+
+        PrecomputedRanking ranking = stored.get();
+        boolean fresh = ranking.isCurrent() && !lastChangeAt.isAfter(ranking.getComputedAt());
+        if (!fresh) {
+            refreshRequests.add(vacancyId);
+            if (Duration.between(ranking.getComputedAt(), Instant.now()).compareTo(maxStale) > 0) {
+                return Optional.empty();
+            }
+        }
+        return answer(ranking, query).map(rankings -> new PrecomputedResult(rankings, ranking.getComputedAt(), fresh));
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            logger.warn("Ranking precompute failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reports this node's reads and writes, then recomputes what is due if this node holds the lease. Returns the
+     * number of rankings recomputed.
+     */
+    public int tick() {
+        reportReadsAndWrites();
+        if (!store.acquireLease(nodeId, leaseTtl) || rankingBulkhead.queued() > 0) {
+            return 0;
+        }
+        store.decayReads(readDecay);
+
+        int recomputed = 0;
+        for (String vacancyId : dueVacancies()) {
+            if (Thread.currentThread().isInterrupted() || !store.acquireLease(nodeId, leaseTtl)) {
+                break;
+            }
+            long started = System.nanoTime();
+            try {
+                recompute(vacancyId);
+                recomputed++;
+            } catch (GenericApiException e) {
+                // Deleted meanwhile, or its criteria can no longer be scored
+                store.delete(vacancyId);
+            }
+            throttle(System.nanoTime() - started);
+        }
+        if (recomputed > 0) {
+            logger.debug("Precomputed {} rankings", recomputed);
+        }
+        return recomputed;
+    }
+
+    private void recompute(String vacancyId) {
+        refreshRequests.remove(vacancyId);
+        Instant startedAt = Instant.now();
+        // One more than is stored tells whether anything was cut off without ranking every candidate. Reads stay on
+        // the primary: a lagging secondary would miss writes made before startedAt, yet the result would count as fresh
+        List<CandidateRankingDto> rankings = ReadRouting.onPrimary(() -> rankingService.rankCandidatesForVacancy(
+                vacancyId, new RankingQuery(storedLimit + 1)));
+        boolean complete = rankings.size() <= storedLimit;
+        store.save(vacancyId, complete ? rankings : rankings.subList(0, storedLimit), complete, startedAt);
+    }
+
+    // Requested refreshes first, then by recent reads; vacancies never ranked before come last
+    private Set<String> dueVacancies() {
+        Instant now = Instant.now();
+        Map<String, PrecomputedRanking> stored = new LinkedHashMap<>();
+        store.findAllByReads().forEach(ranking -> stored.put(ranking.getId(), ranking));
+
+        Set<String> due = new LinkedHashSet<>();
+        for (String vacancyId : refreshRequests) {
+            PrecomputedRanking ranking = stored.get(vacancyId);
+            if (ranking == null || isDue(ranking, now)) {
+                due.add(vacancyId);
+            }
+        }
+        stored.values().stream().filter(ranking -> isDue(ranking, now)).forEach(ranking -> due.add(ranking.getId()));
+        for (Vacancy vacancy : vacancyService.getAllVacancies()) {
+            if (!stored.containsKey(vacancy.getId())) {
+                due.add(vacancy.getId());
+            }
+        }
+        return due;
+    }
+
+    private boolean isDue(PrecomputedRanking ranking, Instant now) {
+        if (ranking.getComputedAt() == null) {
+            return true;
+        }
+        if (ranking.isCurrent()) {
+            return false;
+        }
+        boolean burstOver = Duration.between(ranking.getInvalidatedAt(), now).compareTo(quietPeriod) >= 0;
+        boolean tooStale = Duration.between(ranking.getComputedAt(), now).compareTo(maxStale) >= 0;
+        return burstOver || tooStale;
+    }
+
+    private void countRead(String vacancyId) {
+        reads.computeIfAbsent(vacancyId, id -> new LongAdder()).increment();
+    }
+
+    // Counters are taken out of the map as they are reported, so vacancies no longer read do not linger in it. A
+    // read landing on a counter just taken out is lost, which the read priority can afford.
+    private void reportReadsAndWrites() {
+        Map<String, Long> counted = new HashMap<>();
+        for (String vacancyId : reads.keySet()) {
+            LongAdder count = reads.remove(vacancyId);
+            if (count != null && count.sum() > 0) {
+                counted.put(vacancyId, count.sum());
+            }
+        }
+        store.addReads(counted);
+        reportWrites();
+    }
+
+    private synchronized void reportWrites() {
+        Instant changedAt = lastChangeAt;
+        if (changedAt.isAfter(lastReportedChangeAt)) {
+            store.invalidateAll(changedAt);
+            lastReportedChangeAt = changedAt;
+        }
+    }
+
+    // Sleeps long enough that the time spent ranking stays within the CPU budget
+    private void throttle(long workNanos) {
+        long pauseNanos = (long) (workNanos * (1 - cpuBudget) / cpuBudget);
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stored rankings are sorted by score, so a minScore keeps a prefix and ranks stay valid
+    private static Optional<List<CandidateRankingDto>> answer(PrecomputedRanking ranking, RankingQuery query) {
+        List<CandidateRankingDto> stored = ranking.getRankings() == null ? List.of() : ranking.getRankings();
+        int minScore = query.effectiveMinScore();
+        int qualifying = 0;
+        while (qualifying < stored.size() && stored.get(qualifying).score() >= minScore) {
+            qualifying++;
+        }
+        boolean prefixComplete = ranking.isComplete() || qualifying < stored.size();
+        int limit = query.effectiveLimit();
+        if (!prefixComplete && limit > qualifying) {
+            return Optional.empty();
+        }
+        return Optional.of(stored.subList(0, Math.min(limit, qualifying)));
+    }
+}
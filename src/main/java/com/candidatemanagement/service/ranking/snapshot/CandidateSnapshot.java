@@ -0,0 +1,293 @@
+package com.candidatemanagement.service.ranking.snapshot;
+
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.model.Candidate;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Read-only, memory-mapped file of one candidate partition: the scoring-relevant attributes (id, current salary,
+ * birthdate and gender) stored off-heap as fixed-width records so a restarted node can rank immediately, and the
+ * name and email a ranking returns, so that rankings need no lookup in Mongo.
+ * <p>
+ * Layout (little endian): a 32-byte header {@code magic, version, recordSize, partition, partitionCount,
+ * recordCount, createdAtMillis} followed by {@value #RECORD_SIZE}-byte records
+ * {@code id[24], idLength, flags, gender, salaryScale, birthdateEpochDay(int), salaryUnscaled(long), textOffset(int)}
+ * and then the text section, holding each record's name and email as {@code length(int), utf8[length]} at its
+ * {@code textOffset}, a length of -1 standing for null.
+ * Candidates that do not fit a record (non-ObjectId ids, salaries beyond 63 bits) are left out by the writer.
+ */
+public final class CandidateSnapshot {
+
+    public static final int FORMAT_VERSION = 2;
+
+    static final int MAGIC = 0x434E5350; // "CNSP"
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 44;
+
+    private static final int ID_LENGTH = 24;
+    private static final int ID_LENGTH_OFFSET = 24;
+    private static final int FLAGS_OFFSET = 25;
+    private static final int GENDER_OFFSET = 26;
+    private static final int SALARY_SCALE_OFFSET = 27;
+    private static final int BIRTHDATE_OFFSET = 28;
+    private static final int SALARY_OFFSET = 32;
+    private static final int TEXT_OFFSET = 40;
+
+    private static final int HAS_SALARY = 1;
+    private static final int HAS_BIRTHDATE = 1 << 1;
+    private static final int HAS_GENDER = 1 << 2;
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final CandidateSnapshot EMPTY = new CandidateSnapshot(
+            ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN), ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN),
+            -1, 0, 0);
+
+    private final ByteBuffer records;
+    private final ByteBuffer text;
+    private final int partition;
+    private final int partitionCount;
+    private final int size;
+
+    private CandidateSnapshot(ByteBuffer records, ByteBuffer text, int partition, int partitionCount, int size) {
+        this.records = records;
+        this.text = text;
+        this.partition = partition;
+        this.partitionCount = partitionCount;
+        this.size = size;
+    }
+
+    public static CandidateSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static Path fileFor(Path directory, int partition, int partitionCount) {
+        return directory.resolve("candidates-p" + partition + "-of" + partitionCount + ".snapshot");
+    }
+
+    /**
+     * Maps an existing snapshot file. Fails if the file is truncated or was written by another format version.
+     */
+    public static CandidateSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION || mapped.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Snapshot " + file + " has an unsupported format");
+            }
+            int partition = mapped.getInt(12);
+            int partitionCount = mapped.getInt(16);
+            int count = mapped.getInt(20);
+            long textStart = HEADER_SIZE + (long) count * RECORD_SIZE;
+            if (fileSize < textStart) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            ByteBuffer records = mapped.slice(HEADER_SIZE, count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer text = mapped.slice((int) textStart, (int) (fileSize - textStart)).order(ByteOrder.LITTLE_ENDIAN);
+            return new CandidateSnapshot(records, text, partition, partitionCount, count);
+        }
+    }
+
+    public static Writer writer(Path file, int partition, int partitionCount) throws IOException {
+        return new Writer(file, partition, partitionCount);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public String idAt(int index) {
+        int offset = index * RECORD_SIZE;
+        byte[] id = new byte[records.get(offset + ID_LENGTH_OFFSET)];
+        records.get(offset, id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    public String nameAt(int index) {
+        return textAt(records.getInt(index * RECORD_SIZE + TEXT_OFFSET));
+    }
+
+    public String emailAt(int index) {
+        int nameOffset = records.getInt(index * RECORD_SIZE + TEXT_OFFSET);
+        int nameLength = text.getInt(nameOffset);
+        return textAt(nameOffset + Integer.BYTES + Math.max(0, nameLength));
+    }
+
+    private String textAt(int offset) {
+        int length = text.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        text.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies record {@code index} into {@code target}, leaving name and email untouched. Lets a scan reuse one
+     * {@link Candidate} instead of allocating one per record; {@link #nameAt} and {@link #emailAt} are read only
+     * for the records a ranking keeps.
+     */
+    public void readInto(int index, Candidate target) {
+        int offset = index * RECORD_SIZE;
+        int flags = records.get(offset + FLAGS_OFFSET);
+        target.setId(idAt(index));
+        target.setGender((flags & HAS_GENDER) != 0 ? GENDERS[records.get(offset + GENDER_OFFSET)] : null);
+        target.setBirthdate((flags & HAS_BIRTHDATE) != 0
+                ? LocalDate.ofEpochDay(records.getInt(offset + BIRTHDATE_OFFSET)) : null);
+        target.setCurrentSalary((flags & HAS_SALARY) != 0
+                ? BigDecimal.valueOf(records.getLong(offset + SALARY_OFFSET), records.get(offset + SALARY_SCALE_OFFSET))
+                : null);
+    }
+
+    public static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temporary;
+        private final Path textTemporary;
+        private final FileChannel channel;
+        private final OutputStream text;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        private final int partition;
+        private final int partitionCount;
+        private int count = 0;
+        private long textSize = 0;
+
+        private Writer(Path target, int partition, int partitionCount) throws IOException {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            this.target = target;
+            this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            this.textTemporary = target.resolveSibling(target.getFileName() + ".text.tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.text = new BufferedOutputStream(Files.newOutputStream(textTemporary), buffer.capacity());
+            this.partition = partition;
+            this.partitionCount = partitionCount;
+            channel.position(HEADER_SIZE);
+        }
+
+        /**
+         * Appends a record for the candidate, or returns false if it cannot be represented in the fixed layout.
+         */
+        public boolean append(Candidate candidate) throws IOException {
+            String id = candidate.getId();
+            BigDecimal salary = candidate.getCurrentSalary();
+            if (id == null || id.length() > ID_LENGTH || !StandardCharsets.US_ASCII.newEncoder().canEncode(id)) {
+                return false;
+            }
+            BigInteger unscaled = salary != null ? salary.unscaledValue() : BigInteger.ZERO;
+            if (unscaled.bitLength() > 63 || (salary != null && (salary.scale() > Byte.MAX_VALUE || salary.scale() < Byte.MIN_VALUE))) {
+                return false;
+            }
+            if (textSize > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + target + " exceeds the text section's 2 GB");
+            }
+            int textOffset = (int) textSize;
+            writeText(candidate.getName());
+            writeText(candidate.getEmail());
+
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            int start = buffer.position();
+            byte[] idBytes = id.getBytes(StandardCharsets.US_ASCII);
+            buffer.put(idBytes);
+            buffer.position(start + ID_LENGTH_OFFSET);
+            int flags = (salary != null ? HAS_SALARY : 0)
+                    | (candidate.getBirthdate() != null ? HAS_BIRTHDATE : 0)
+                    | (candidate.getGender() != null ? HAS_GENDER : 0);
+            buffer.put((byte) idBytes.length);
+            buffer.put((byte) flags);
+            buffer.put((byte) (candidate.getGender() != null ? candidate.getGender().ordinal() : 0));
+            buffer.put((byte) (salary != null ? salary.scale() : 0));
+            buffer.putInt(candidate.getBirthdate() != null ? (int) candidate.getBirthdate().toEpochDay() : 0);
+            buffer.putLong(unscaled.longValue());
+            buffer.putInt(textOffset);
+            count++;
+            return true;
+        }
+
+        /**
+         * Appends the text section and the header, forces the file to disk and atomically replaces any previous
+         * snapshot.
+         */
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+                text.close();
+                try (FileChannel textChannel = FileChannel.open(textTemporary, StandardOpenOption.READ)) {
+                    long size = textChannel.size();
+                    for (long copied = 0; copied < size; ) {
+                        copied += textChannel.transferTo(copied, size - copied, channel);
+                    }
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE)
+                        .putInt(partition).putInt(partitionCount).putInt(count)
+                        .putLong(System.currentTimeMillis())
+                        .flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(textTemporary);
+        }
+
+        /**
+         * Discards the snapshot being written, leaving any previous one in place. Does nothing once closed.
+         */
+        public void abandon() {
+            try {
+                text.close();
+                channel.close();
+                Files.deleteIfExists(temporary);
+                Files.deleteIfExists(textTemporary);
+            } catch (IOException e) {
+                // Nothing to do but leave the temporary files; the next writer truncates them
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+            int length = bytes == null ? -1 : bytes.length;
+            text.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(length).array());
+            if (bytes != null) {
+                text.write(bytes);
+            }
+            textSize += Integer.BYTES + Math.max(0, length);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
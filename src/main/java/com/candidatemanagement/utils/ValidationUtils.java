@@ -1,10 +1,11 @@
 package com.candidatemanagement.utils;
 
+import com.candidatemanagement.accessor.PropertyAccessorRegistry;
+import com.candidatemanagement.accessor.PropertyAccessors;
 import com.candidatemanagement.exception.ValidationException;
 import com.candidatemanagement.model.criteria.Criterion;
-import com.candidatemanagement.model.criteria.Criteria;
+import com.candidatemanagement.model.criteria.CriteriaAccessors;
 
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.*;
 
@@ -19,9 +20,7 @@ public class ValidationUtils {
         ENUM_VALUE
     }
 
-    private static final List<String> CRITERIA_NAMES = Arrays.stream(Criteria.class.getDeclaredFields())
-        .map(Field::getName)
-        .toList();
+    private static final List<String> CRITERIA_NAMES = CriteriaAccessors.INSTANCE.names();
 
     private static final List<String> CRITERION_DETAILS_TYPES = Arrays.stream(Criterion.CriterionType.values())
         .map(Enum::name)
@@ -40,25 +39,20 @@ public class ValidationUtils {
     public static void validateAll(Object obj, Class<?> clazz, List<FieldValidation> fieldValidations) {
         List<ValidationException.FieldError> errors = new ArrayList<>();
 
+        PropertyAccessors<?> accessors = PropertyAccessorRegistry.forType(clazz);
         for (FieldValidation fv : fieldValidations) {
-            try {
-                Field field = findField(clazz, fv.fieldName());
-                if (field == null) {
-                    errors.add(new ValidationException.FieldError(fv.fieldName(), "Field not found in class or superclasses"));
-                    continue;
-                }
+            if (!accessors.has(fv.fieldName())) {
+                errors.add(new ValidationException.FieldError(fv.fieldName(), "Field not found in class or superclasses"));
+                continue;
+            }
 
-                field.setAccessible(true);
-                Object value = field.get(obj);
+            Object value = accessors.read(obj, fv.fieldName());
 
-                for (ValidationType vt : fv.validations()) {
-                    ValidationException.FieldError error = performValidation(fv.fieldName(), value, vt, fv.enumClass());
-                    if (error != null) {
-                        errors.add(error);
-                    }
+            for (ValidationType vt : fv.validations()) {
+                ValidationException.FieldError error = performValidation(fv.fieldName(), value, vt, fv.enumClass());
+                if (error != null) {
+                    errors.add(error);
                 }
-            } catch (IllegalAccessException e) {
-                errors.add(new ValidationException.FieldError(fv.fieldName(), "Field access error: " + e.getMessage()));
             }
         }
 
@@ -70,27 +64,22 @@ public class ValidationUtils {
     public static void validatePartial(Object obj, Class<?> clazz, List<FieldValidation> fieldValidations) {
         List<ValidationException.FieldError> errors = new ArrayList<>();
 
+        PropertyAccessors<?> accessors = PropertyAccessorRegistry.forType(clazz);
         for (FieldValidation fv : fieldValidations) {
-            try {
-                Field field = findField(clazz, fv.fieldName());
-                if (field == null) {
-                    errors.add(new ValidationException.FieldError(fv.fieldName(), "Field not found in class or superclasses"));
-                    continue;
-                }
+            if (!accessors.has(fv.fieldName())) {
+                errors.add(new ValidationException.FieldError(fv.fieldName(), "Field not found in class or superclasses"));
+                continue;
+            }
 
-                field.setAccessible(true);
-                Object value = field.get(obj);
+            Object value = accessors.read(obj, fv.fieldName());
 
-                if (value != null) {
-                    for (ValidationType vt : fv.validations()) {
-                        ValidationException.FieldError error = performValidation(fv.fieldName(), value, vt, fv.enumClass());
-                        if (error != null) {
-                            errors.add(error);
-                        }
+            if (value != null) {
+                for (ValidationType vt : fv.validations()) {
+                    ValidationException.FieldError error = performValidation(fv.fieldName(), value, vt, fv.enumClass());
+                    if (error != null) {
+                        errors.add(error);
                     }
                 }
-            } catch (IllegalAccessException e) {
-                errors.add(new ValidationException.FieldError(fv.fieldName(), "Field access error: " + e.getMessage()));
             }
         }
 
@@ -99,18 +88,6 @@ public class ValidationUtils {
         }
     }
 
-    public static Field findField(Class<?> clazz, String fieldName) {
-        if (clazz == null) {
-            return null;
-        }
-
-        try {
-            return clazz.getDeclaredField(fieldName);
-        } catch (NoSuchFieldException e) {
-            return findField(clazz.getSuperclass(), fieldName);
-        }
-    }
-
     private static ValidationException.FieldError performValidation(String fieldName, Object value, ValidationType type, Class<? extends Enum<?>> enumClass) {
         switch (type) {
             case NOT_NULL:
@@ -159,14 +136,7 @@ public class ValidationUtils {
                 if (enumClass == null) {
                     break;
                 }
-                boolean valid = false;
-                for (Enum<?> constant : enumClass.getEnumConstants()) {
-                    if (constant.name().equals(value.toString())) {
-                        valid = true;
-                        break;
-                    }
-                }
-                if (!valid) {
+                if (!PropertyAccessorRegistry.enumConstants(enumClass).contains(value.toString())) {
                     return new ValidationException.FieldError(fieldName, "must be one of: " + enumValuesString(enumClass));
                 }
                 break;
@@ -213,12 +183,7 @@ public class ValidationUtils {
     }
 
     private static String enumValuesString(Class<? extends Enum<?>> enumClass) {
-        Enum<?>[] constants = enumClass.getEnumConstants();
-        List<String> names = new ArrayList<>();
-        for (Enum<?> constant : constants) {
-            names.add(constant.name());
-        }
-        return String.join(", ", names);
+        return String.join(", ", PropertyAccessorRegistry.enumConstants(enumClass));
     }
 
     private static ValidationException.FieldError validateCriterionDetails(String name, Criterion.CriterionDetails details) {
@@ -248,11 +213,11 @@ public class ValidationUtils {
 
                 Map<String, Object> enumClassMap = checkClassFieldInCriteria(name);
                 if (!enumClassMap.isEmpty() && (Boolean) enumClassMap.get(CRITERIA_MAP_IS_VALID_ENUM)) {
-                    Class<? extends Enum<?>> enumClass = (Class<? extends Enum<?>>) enumClassMap.get(CRITERIA_MAP_CLASS_NAME);
+                    Class<?> enumClass = (Class<?>) enumClassMap.get(CRITERIA_MAP_CLASS_NAME);
                     for (String option : details.getOptions()) {
                         boolean isValidEnum = false;
-                        for (Enum<?> enumConstant : enumClass.getEnumConstants()) {
-                            if (enumConstant.name().equalsIgnoreCase(option)) {
+                        for (String enumConstant : CriteriaAccessors.INSTANCE.enumConstants(name)) {
+                            if (enumConstant.equalsIgnoreCase(option)) {
                                 isValidEnum = true;
                                 break;
                             }
@@ -312,42 +277,17 @@ public class ValidationUtils {
 
     private static Map<String, Object> checkClassFieldInCriteria(String fieldName) {
         Map<String, Object> map = new HashMap<>();
-        try {
-            Field field = findField(Criteria.class, fieldName);
-            map.put(CRITERIA_MAP_CLASS_NAME, field.getType());
-            Class<?> type = field.getType();
+        Class<?> type = fieldName == null ? null : CriteriaAccessors.INSTANCE.typeOf(fieldName);
+        if (type != null) {
+            map.put(CRITERIA_MAP_CLASS_NAME, type);
             map.put(CRITERIA_MAP_IS_NUMERIC, isNumericFieldInCriteria(type));
-            map.put(CRITERIA_MAP_IS_VALID_ENUM, isEnumFieldInCriteria(fieldName, field));
-        } catch (Exception e) {
-            // Ignore exceptions
-            // TODO: Add logging here
+            map.put(CRITERIA_MAP_IS_VALID_ENUM, !CriteriaAccessors.INSTANCE.enumConstants(fieldName).isEmpty());
         }
         return map;
     }
 
-    public static boolean isEnumFieldInCriteria(String fieldName, Field field) {
-        return field != null && field.getType().isEnum() && findField(Enum.class, fieldName) != null;
-    }
-
     private static boolean isNumericFieldInCriteria(Class<?> type) {
         return Number.class.isAssignableFrom(type) || type == int.class || type == long.class || type == float.class ||
                 type == double.class || type == byte.class || type == short.class || type == BigDecimal.class;
     }
-
-    public static List<String> getEnumValuesFromClass(Class<?> enumClass) {
-        if (enumClass == null) {
-            return Collections.emptyList();
-        }
-
-        if (!enumClass.isEnum()) {
-            return Collections.emptyList();
-        }
-
-        Enum<?>[] constants = (Enum<?>[]) enumClass.getEnumConstants();
-        List<String> names = new ArrayList<>();
-        for (Enum<?> constant : constants) {
-            names.add(constant.name());
-        }
-        return names;
-    }
 }
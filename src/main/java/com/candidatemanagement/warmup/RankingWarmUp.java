@@ -0,0 +1,211 @@
+package com.candidatemanagement.warmup;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.CandidateRequestDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.service.ranking.CandidateRanker;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.distributed.RankingNode;
+import com.candidatemanagement.service.ranking.snapshot.CandidateSnapshot;
+import com.candidatemanagement.utils.ValidationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Runs synthetic rankings through the scoring path, the criterion matchers, request validation and JSON
+ * serialization before the instance reports ready, so the JIT has compiled them before real traffic arrives.
+ * <p>
+ * Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} after every {@link ApplicationReadyEvent}
+ * listener has returned, so running last and synchronously keeps {@code /actuator/health/readiness} down until
+ * the warm-up is done. It stops after {@code iterations} rounds or {@code time-budget}, whichever comes first.
+ * <p>
+ * Rankings go through the path of the configured {@code ranking.mode}: the {@link CandidateRanker} loop locally,
+ * or {@link RankingNode#rankLocal} over a throw-away snapshot of the synthetic candidates when distributed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "candidate-management.warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RankingWarmUp {
+    private static final Logger logger = LoggerFactory.getLogger(RankingWarmUp.class);
+
+    private final CandidateRanker candidateRanker;
+    private final boolean distributed;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int iterations;
+    private final int candidateCount;
+    private final Duration timeBudget;
+
+    public RankingWarmUp(
+            CriterionMatcherFactory criterionMatcherFactory,
+            @Value("${candidate-management.ranking.mode:local}") String rankingMode,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${candidate-management.warm-up.iterations:200}") int iterations,
+            @Value("${candidate-management.warm-up.candidates:2000}") int candidateCount,
+            @Value("${candidate-management.warm-up.time-budget:20s}") Duration timeBudget) {
+        this.candidateRanker = new CandidateRanker(new CandidateScorer(criterionMatcherFactory));
+        this.distributed = "distributed".equals(rankingMode);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.iterations = iterations;
+        this.candidateCount = candidateCount;
+        this.timeBudget = timeBudget;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onApplicationReady() {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        run();
+    }
+
+    /**
+     * Runs the warm-up and returns the number of completed rounds.
+     */
+    public int run() {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        Random random = new Random(42);
+        List<Candidate> candidates = syntheticCandidates(random);
+        List<Vacancy> vacancies = syntheticVacancies();
+        List<CandidateRequestDto> requests = candidates.stream().limit(100).map(RankingWarmUp::toRequest).toList();
+
+        int completed = 0;
+        long checksum = 0;
+        Path snapshotDirectory = null;
+        try {
+            RankingNode node = null;
+            if (distributed) {
+                snapshotDirectory = Files.createTempDirectory("ranking-warm-up");
+                node = snapshotNode(snapshotDirectory.resolve("partition-0.snapshot"), candidates);
+            }
+            while (completed < iterations && System.nanoTime() < deadline) {
+                Vacancy vacancy = vacancies.get(completed % vacancies.size());
+                vacancy.getCriteria().forEach(ValidationUtils::validateCriterion);
+                validate(requests.get(completed % requests.size()));
+
+                RankingQuery query = completed % 2 == 0 ? RankingQuery.unlimited() : new RankingQuery(10);
+                List<CandidateRankingDto> rankings = CandidateScorer.toRankings(node != null
+                        ? node.rankLocal(vacancy, query)
+                        : candidateRanker.rank(vacancy, candidates.iterator(), query));
+                checksum += objectMapper.writeValueAsBytes(rankings).length;
+                completed++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Warm-up only affects latency; a failure here must never keep the instance out of service
+            logger.warn("Warm-up stopped after {} rounds: {}", completed, e.getMessage());
+        } finally {
+            deleteQuietly(snapshotDirectory);
+        }
+
+        logger.info("Warm-up ran {} ranking rounds over {} candidates in {} ms (checksum {})", completed,
+                candidates.size(), Duration.ofNanos(System.nanoTime() - started).toMillis(), checksum);
+        return completed;
+    }
+
+    // A single partition holding every synthetic candidate in its snapshot, so ranking scans the mapped records
+    private RankingNode snapshotNode(Path file, List<Candidate> candidates) throws IOException {
+        try (CandidateSnapshot.Writer writer = CandidateSnapshot.writer(file, 0, 1)) {
+            for (Candidate candidate : candidates) {
+                writer.append(candidate);
+            }
+        }
+        RankingNode node = new RankingNode(0, candidateRanker.getCandidateScorer());
+        node.replaceBase(CandidateSnapshot.open(file), node.currentSequence());
+        return node;
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("Could not delete warm-up snapshot {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private List<Candidate> syntheticCandidates(Random random) {
+        List<Candidate> candidates = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            Candidate candidate = new Candidate(
+                    "Warm-up Candidate " + i,
+                    "warm-up-" + i + "@example.com",
+                    LocalDate.of(1965 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+                    new BigDecimal(3_000_000 + random.nextInt(12_000_000))
+            );
+            candidate.setId(String.format("%024x", i));
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    // Mixes every matcher and both range fields so all scoring branches get compiled
+    private static List<Vacancy> syntheticVacancies() {
+        Vacancy senior = new Vacancy("Warm-up Senior", Set.of(
+                new Criterion("age", 3, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("30"), new BigDecimal("45"), null)),
+                new Criterion("gender", 1, Criterion.CriterionDetails.createObject(
+                        "ENUMERATION", null, null, Set.of("FEMALE"))),
+                new Criterion("currentSalary", 5, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("8000000"), new BigDecimal("12000000"), null))
+        ));
+        Vacancy junior = new Vacancy("Warm-up Junior", Set.of(
+                new Criterion("age", 4, Criterion.CriterionDetails.createObject(
+                        "RANGE", null, new BigDecimal("28"), null)),
+                new Criterion("gender", 2, Criterion.CriterionDetails.createObject(
+                        "ANY", null, null, null)),
+                new Criterion("currentSalary", 3, Criterion.CriterionDetails.createObject(
+                        "RANGE", null, new BigDecimal("6000000"), null))
+        ));
+        return List.of(senior, junior);
+    }
+
+    private static CandidateRequestDto toRequest(Candidate candidate) {
+        return new CandidateRequestDto(candidate.getName(), candidate.getEmail(), candidate.getBirthdate(),
+                candidate.getGender().name(), candidate.getCurrentSalary());
+    }
+
+    private static void validate(CandidateRequestDto dto) {
+        ValidationUtils.validateAll(dto, CandidateRequestDto.class, List.of(
+                new ValidationUtils.FieldValidation("name", List.of(ValidationUtils.ValidationType.NOT_NULL, ValidationUtils.ValidationType.NOT_BLANK)),
+                new ValidationUtils.FieldValidation("email", List.of(ValidationUtils.ValidationType.NOT_NULL, ValidationUtils.ValidationType.VALID_EMAIL)),
+                new ValidationUtils.FieldValidation("gender", List.of(ValidationUtils.ValidationType.ENUM_VALUE), Gender.class),
+                new ValidationUtils.FieldValidation("currentSalary", List.of(ValidationUtils.ValidationType.POSITIVE))
+        ));
+    }
+}
@@ -0,0 +1,509 @@
+package com.candidatemanagement.writebehind;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.config.CacheConfig;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.model.Candidate;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind log for candidate writes. Each write is appended to a local append-only file and acknowledged once
+ * it has been fsynced; concurrent writers share one fsync (group commit). A background task flushes the pending
+ * writes to Mongo as unordered bulk upserts and deletes, coalescing repeated writes to the same candidate.
+ * <p>
+ * Until a write is flushed it is served from the in-memory pending overlay, so a client reads its own writes. On
+ * start the log is replayed; replaying writes that had already reached Mongo is harmless because every entry is
+ * a full replace or a delete by id. The log is split into segments: after every flushed batch the current segment
+ * is sealed and sealed segments holding no pending write are deleted, so disk use and replay stay bounded by the
+ * unflushed backlog.
+ * <p>
+ * Disabled by default; enable with {@code candidate-management.write-behind.enabled=true}. When disabled the
+ * bean is inert and {@link com.candidatemanagement.service.impl.CandidateServiceImpl} writes straight to Mongo.
+ */
+@Component
+public class CandidateWriteLog {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateWriteLog.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("candidate-writes-(\\d+)\\.log");
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private record Append(PendingCandidateWrite write, byte[] line, CompletableFuture<Void> durable) {}
+
+    // A segment no longer appended to; every entry in it has a sequence of at most maxSequence
+    private record Segment(Path file, long maxSequence) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Path logDirectory;
+    private final Duration flushInterval;
+    private final int batchSize;
+
+    private final Map<String, PendingCandidateWrite> pending = new ConcurrentHashMap<>();
+    // Email -> id of the candidate whose pending write uses it, so two pending writes never share an email
+    private final Map<String, String> emailClaims = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final Object fileLock = new Object();
+    private final List<Segment> sealed = new ArrayList<>();
+
+    private FileChannel channel;
+    private Path segment;
+    private long segmentMaxSequence;
+    private long nextSegmentIndex;
+    private Thread committer;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public CandidateWriteLog(
+            MongoTemplate mongoTemplate,
+            CacheManager cacheManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${candidate-management.write-behind.enabled:false}") boolean enabled,
+            @Value("${candidate-management.write-behind.log-directory:${java.io.tmpdir}/candidate-management}") Path logDirectory,
+            @Value("${candidate-management.write-behind.flush-interval:200ms}") Duration flushInterval,
+            @Value("${candidate-management.write-behind.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.logDirectory = logDirectory;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(logDirectory);
+        replay();
+        openSegment();
+        running = true;
+
+        committer = new Thread(this::commitLoop, "candidate-write-log");
+        committer.setDaemon(true);
+        committer.start();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "candidate-write-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Flushes everything still pending and closes the log. Writes that cannot be flushed stay in the log and are
+     * replayed on the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.shutdown();
+        flusher.awaitTermination(flushInterval.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        committer.interrupt();
+        committer.join(5_000);
+        flushQuietly();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close candidate write log: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Durably records an upsert of the complete candidate, which must already carry its id.
+     */
+    public void appendUpsert(Candidate candidate) {
+        append(candidate.getId(), candidate);
+    }
+
+    public void appendDelete(String id) {
+        append(id, null);
+    }
+
+    public Optional<PendingCandidateWrite> pendingWrite(String id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    public Collection<PendingCandidateWrite> pendingWrites() {
+        return List.copyOf(pending.values());
+    }
+
+    /**
+     * Atomically reserves {@code email} for candidate {@code id} until its pending write has been flushed. Returns
+     * {@code false} if another candidate's pending write holds it. Claim before checking Mongo for the email: a
+     * claim is only released once the write holding it has reached Mongo, where that check then finds it.
+     */
+    public boolean claimEmail(String email, String id) {
+        String owner = emailClaims.putIfAbsent(email, id);
+        return owner == null || owner.equals(id);
+    }
+
+    /**
+     * Releases a claim taken for a write that was not appended, unless a pending write of the candidate uses it.
+     */
+    public void releaseEmail(String email, String id) {
+        PendingCandidateWrite write = pending.get(id);
+        if (write == null || write.isDelete() || !email.equals(write.candidate().getEmail())) {
+            emailClaims.remove(email, id);
+        }
+    }
+
+    /**
+     * Pushes the pending writes to Mongo. Runs on the flusher thread; exposed for shutdown and tests.
+     */
+    public synchronized void flush() {
+        List<PendingCandidateWrite> batch = new ArrayList<>(pending.values());
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            if (flushBatch(batch.subList(from, Math.min(from + batchSize, batch.size())))) {
+                checkpoint();
+            }
+        }
+    }
+
+    private void append(String id, Candidate candidate) {
+        if (!running) {
+            throw writeLogUnavailable(null);
+        }
+        PendingCandidateWrite write = new PendingCandidateWrite(sequence.incrementAndGet(), id, candidate);
+        Append append = new Append(write, encode(write), new CompletableFuture<>());
+        appends.add(append);
+        try {
+            append.durable().join();
+        } catch (CompletionException e) {
+            throw writeLogUnavailable(e.getCause());
+        }
+    }
+
+    // Group commit: everything queued while the previous fsync ran goes out with the next one
+    private void commitLoop() {
+        List<Append> batch = new ArrayList<>();
+        while (running || !appends.isEmpty()) {
+            try {
+                batch.add(appends.take());
+            } catch (InterruptedException e) {
+                if (appends.isEmpty()) {
+                    break;
+                }
+            }
+            appends.drainTo(batch);
+            commit(batch);
+            batch.clear();
+        }
+        List<Append> abandoned = new ArrayList<>();
+        appends.drainTo(abandoned);
+        abandoned.forEach(append -> append.durable().completeExceptionally(
+                new IOException("Candidate write log is closed")));
+    }
+
+    private void commit(List<Append> batch) {
+        int size = batch.stream().mapToInt(append -> append.line().length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        batch.forEach(append -> buffer.put(append.line()));
+        buffer.flip();
+
+        synchronized (fileLock) {
+            long committedSize = -1;
+            try {
+                committedSize = channel.size();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                discardTornWrite(committedSize);
+                batch.forEach(append -> append.durable().completeExceptionally(e));
+                return;
+            }
+            batch.forEach(append -> segmentMaxSequence = Math.max(segmentMaxSequence, append.write().sequence()));
+            // Published before acknowledging, so the writer can read its own write as soon as it returns
+            for (Append append : batch) {
+                PendingCandidateWrite write = append.write();
+                PendingCandidateWrite replaced = pending.get(write.id());
+                PendingCandidateWrite kept = pending.merge(write.id(), write,
+                        (current, next) -> next.sequence() > current.sequence() ? next : current);
+                PendingCandidateWrite superseded = kept == write ? replaced : write;
+                if (superseded != null && !Objects.equals(email(superseded), email(kept))) {
+                    releaseClaim(superseded);
+                }
+            }
+        }
+        batch.forEach(append -> append.durable().complete(null));
+    }
+
+    // Later acknowledged writes must not follow a partial record: cut it off, or leave it behind in a sealed segment
+    private void discardTornWrite(long committedSize) {
+        try {
+            if (committedSize < 0) {
+                throw new IOException("size of " + segment + " is unknown");
+            }
+            channel.truncate(committedSize);
+            channel.force(false);
+        } catch (IOException e) {
+            logger.warn("Could not truncate failed append from {}, starting a new segment: {}", segment, e.getMessage());
+            try {
+                FileChannel torn = channel;
+                sealed.add(new Segment(segment, segmentMaxSequence));
+                openSegment();
+                torn.close();
+            } catch (IOException rotation) {
+                logger.warn("Could not start a new candidate write log segment: {}", rotation.getMessage());
+            }
+        }
+    }
+
+    private boolean flushBatch(List<PendingCandidateWrite> batch) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Candidate.class);
+        for (PendingCandidateWrite write : batch) {
+            Query byId = Query.query(Criteria.where("_id").is(write.id()));
+            if (write.isDelete()) {
+                operations.remove(byId);
+            } else {
+                operations.replaceOne(byId, write.candidate(), FindAndReplaceOptions.options().upsert());
+            }
+        }
+
+        Set<Integer> rejected = new HashSet<>();
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    logger.warn("Flushing candidate writes failed, retrying later: {}", error.getMessage());
+                    return false;
+                }
+                rejected.add(error.getIndex());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Flushing candidate writes failed, retrying later: {}", e.getMessage());
+            return false;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingCandidateWrite write = batch.get(i);
+            // Keeps the entry if the candidate was written again while this batch was in flight
+            if (pending.remove(write.id(), write)) {
+                releaseClaim(write);
+            }
+            if (rejected.contains(i)) {
+                logger.warn("Dropping pending write of candidate {}: email {} is already taken",
+                        write.id(), write.candidate().getEmail());
+                evict(write.id());
+            }
+            eventPublisher.publishEvent(new EntityChangedEvent(Candidate.COLLECTION, write.id(), write.isDelete()));
+        }
+        return true;
+    }
+
+    private void releaseClaim(PendingCandidateWrite write) {
+        String email = email(write);
+        if (email != null) {
+            emailClaims.remove(email, write.id());
+        }
+    }
+
+    private static String email(PendingCandidateWrite write) {
+        return write.isDelete() ? null : write.candidate().getEmail();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Flushing candidate writes failed: {}", e.getMessage());
+        }
+    }
+
+    // Seals the current segment and deletes every sealed segment whose entries have all been flushed or superseded
+    private void checkpoint() {
+        synchronized (fileLock) {
+            if (channel == null || !channel.isOpen()) {
+                return;
+            }
+            try {
+                if (channel.size() > 0) {
+                    FileChannel previous = channel;
+                    sealed.add(new Segment(segment, segmentMaxSequence));
+                    openSegment();
+                    previous.close();
+                }
+            } catch (IOException e) {
+                logger.warn("Could not rotate candidate write log: {}", e.getMessage());
+            }
+
+            long oldestPending = pending.values().stream()
+                    .mapToLong(PendingCandidateWrite::sequence)
+                    .min()
+                    .orElse(Long.MAX_VALUE);
+            sealed.removeIf(flushed -> flushed.maxSequence() < oldestPending && delete(flushed.file()));
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Path next = logDirectory.resolve("candidate-writes-" + nextSegmentIndex + ".log");
+        FileChannel opened = FileChannel.open(next,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        nextSegmentIndex++;
+        channel = opened;
+        segment = next;
+        segmentMaxSequence = 0;
+    }
+
+    private static boolean delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not delete flushed candidate write log {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private void replay() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            segments = files
+                    .filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(CandidateWriteLog::segmentIndex))
+                    .toList();
+        }
+
+        int replayed = 0;
+        for (Path file : segments) {
+            long maxSequence = 0;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    PendingCandidateWrite write;
+                    try {
+                        write = decode(line);
+                    } catch (RuntimeException e) {
+                        // A torn record from a crash or failed append; it was never acknowledged
+                        logger.warn("Skipping unreadable record in candidate write log {}: {}", file, e.getMessage());
+                        continue;
+                    }
+                    pending.merge(write.id(), write,
+                            (current, next) -> next.sequence() > current.sequence() ? next : current);
+                    sequence.accumulateAndGet(write.sequence(), Math::max);
+                    maxSequence = Math.max(maxSequence, write.sequence());
+                    replayed++;
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            sealed.add(new Segment(file, maxSequence));
+            nextSegmentIndex = Math.max(nextSegmentIndex, segmentIndex(file) + 1);
+        }
+        pending.values().forEach(write -> {
+            String email = email(write);
+            if (email != null) {
+                emailClaims.put(email, write.id());
+            }
+        });
+        if (replayed > 0) {
+            logger.info("Replayed {} candidate writes from {} log segments in {}", replayed, segments.size(), logDirectory);
+        }
+    }
+
+    private static long segmentIndex(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private byte[] encode(PendingCandidateWrite write) {
+        Document entry = new Document("seq", write.sequence()).append("id", write.id());
+        if (!write.isDelete()) {
+            Document candidate = new Document();
+            mongoTemplate.getConverter().write(write.candidate(), candidate);
+            entry.append("candidate", candidate);
+        }
+        return (entry.toJson() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private PendingCandidateWrite decode(String line) {
+        Document entry = Document.parse(line);
+        Document candidateDocument = entry.get("candidate", Document.class);
+        Candidate candidate = candidateDocument == null
+                ? null
+                : mongoTemplate.getConverter().read(Candidate.class, candidateDocument);
+        return new PendingCandidateWrite(entry.get("seq", Number.class).longValue(), entry.getString("id"), candidate);
+    }
+
+    private void evict(String id) {
+        Cache cache = cacheManager.getCache(CacheConfig.CANDIDATES_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    private GenericApiException writeLogUnavailable(Throwable cause) {
+        return new GenericApiException(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Write Log Unavailable",
+            "Candidate write could not be recorded",
+            cause
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.candidatemanagement.writebehind;
+
+import com.candidatemanagement.model.Candidate;
+
+/**
+ * A candidate write that is durable in the local log but not yet flushed to Mongo. A {@code null} candidate is a
+ * pending delete.
+ */
+public record PendingCandidateWrite(long sequence, String id, Candidate candidate) {
+
+    public boolean isDelete() {
+        return candidate == null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.candidatemanagement.controller;
+
+import com.candidatemanagement.config.ColumnarJsonHttpMessageConverter;
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
+import com.candidatemanagement.service.CandidateRankingService;
+import com.candidatemanagement.service.VacancyService;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(VacancyController.class)
+@Import(RankingBulkhead.class)
+class ResponseEncodingTest {
+
+    private static final List<CandidateRankingDto> RANKINGS = List.of(
+            new CandidateRankingDto(1, "c1", "John Doe", "john.doe@example.com", 9),
+            new CandidateRankingDto(2, "c2", "Jane Doe", "jane.doe@example.com", 4));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private VacancyService vacancyService;
+
+    @MockBean
+    private CandidateRankingService candidateRankingService;
+
+    @BeforeEach
+    void setUp() {
+        when(candidateRankingService.submitRanking(any(), any(), any(), any())).thenCallRealMethod();
+        when(candidateRankingService.rankCandidatesForVacancy(eq("vacancy1"), eq(RankingQuery.unlimited()), isNull()))
+                .thenReturn(RankingResult.complete(RANKINGS));
+    }
+
+    @Test
+    void rankCandidates_DeadlineCutsRankingShort() throws Exception {
+        when(candidateRankingService.rankCandidatesForVacancy(eq("vacancy1"), eq(RankingQuery.unlimited()), any(Instant.class)))
+                .thenReturn(RankingResult.partial(RANKINGS.subList(0, 1), 953, 1000));
+
+        rank(get("/api/v1/vacancies/vacancy1/rank-candidates")
+                        .header(VacancyController.REQUEST_TIMEOUT_HEADER, "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(VacancyController.RANKING_FRESHNESS_HEADER, "partial"))
+                .andExpect(header().string(VacancyController.RANKING_COVERAGE_HEADER, "95.3"));
+    }
+
+    @Test
+    void rankCandidates_DefaultsToJson() throws Exception {
+        rank(get("/api/v1/vacancies/vacancy1/rank-candidates"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value("c1"))
+                .andExpect(jsonPath("$[1].score").value(4))
+                .andExpect(header().string(VacancyController.RANKING_FRESHNESS_HEADER, "live"));
+    }
+
+    @Test
+    void rankCandidates_ColumnarJson() throws Exception {
+        rank(get("/api/v1/vacancies/vacancy1/rank-candidates")
+                        .accept(ColumnarJsonHttpMessageConverter.COLUMNAR_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ColumnarJsonHttpMessageConverter.COLUMNAR_JSON))
+                .andExpect(jsonPath("$.rank[0]").value(1))
+                .andExpect(jsonPath("$.id[1]").value("c2"))
+                .andExpect(jsonPath("$.email[0]").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.score[1]").value(4));
+    }
+
+    @Test
+    void rankCandidates_Cbor() throws Exception {
+        byte[] body = rank(get("/api/v1/vacancies/vacancy1/rank-candidates")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode rankings = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(2, rankings.size());
+        assertEquals("Jane Doe", rankings.get(1).get("name").asText());
+    }
+
+    // Rankings complete asynchronously on the bulkhead's pool
+    private ResultActions rank(MockHttpServletRequestBuilder ranking) throws Exception {
+        return mockMvc.perform(asyncDispatch(mockMvc.perform(ranking)
+                .andExpect(request().asyncStarted())
+                .andReturn()));
+    }
+}
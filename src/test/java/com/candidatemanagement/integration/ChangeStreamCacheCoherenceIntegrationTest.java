@@ -0,0 +1,101 @@
+package com.candidatemanagement.integration;
+
+import com.candidatemanagement.dto.CandidateRequestDto;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.repository.ChangeStreamTokenRepository;
+import com.candidatemanagement.service.CandidateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates a write made by another node (straight to Mongo, bypassing this node's service and cache) and checks
+ * that the change stream evicts the stale cache entry. The Mongo container runs as a single-node replica set.
+ */
+@SpringBootTest(properties = {
+        "candidate-management.change-streams.enabled=true",
+        "candidate-management.change-streams.token-flush-interval=0s"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeStreamCacheCoherenceIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private ChangeStreamTokenRepository tokenRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        candidateRepository.deleteAll();
+    }
+
+    @Test
+    void remoteUpdate_EvictsCachedCandidate() throws InterruptedException {
+        Candidate created = candidateService.createCandidate(new CandidateRequestDto(
+                "Siti Rahayu", "siti.r@example.com", LocalDate.of(1996, 5, 15), "FEMALE", new BigDecimal("5500000")));
+        assertEquals("Siti Rahayu", candidateService.getCandidateById(created.getId()).orElseThrow().getName());
+
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(created.getId())),
+                Update.update("name", "Siti Updated Elsewhere"),
+                Candidate.class);
+
+        assertTrue(awaitCondition(() -> "Siti Updated Elsewhere".equals(
+                candidateService.getCandidateById(created.getId()).orElseThrow().getName())));
+        assertTrue(awaitCondition(() -> tokenRepository.findById("candidates").isPresent()));
+    }
+
+    @Test
+    void remoteDelete_EvictsCachedCandidate() throws InterruptedException {
+        Candidate created = candidateService.createCandidate(new CandidateRequestDto(
+                "Budi Santoso", "budi.s@example.com", LocalDate.of(1989, 11, 20), "MALE", new BigDecimal("8000000")));
+        assertTrue(candidateService.getCandidateById(created.getId()).isPresent());
+
+        candidateRepository.deleteById(created.getId());
+
+        assertTrue(awaitCondition(() -> candidateService.getCandidateById(created.getId()).isEmpty()));
+    }
+
+    private boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.indexing.CandidateIndexManager;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateIndexManagerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private VacancyService vacancyService;
+
+    @Mock
+    private IndexOperations indexOps;
+
+    @Test
+    void recommend_EqualityFieldsLeadCompoundIndexes() {
+        List<CandidateIndexManager.IndexSpec> recommended = CandidateIndexManager.recommend(List.of(
+                vacancy(range("currentSalary", 5), enumeration("gender", 3), range("age", 1)),
+                vacancy(range("currentSalary", 2))), 8);
+
+        // gender leads the compound index, so it needs no index of its own; only the heaviest range field is used
+        assertEquals(List.of(
+                new CandidateIndexManager.IndexSpec(List.of("currentSalary")),
+                new CandidateIndexManager.IndexSpec(List.of("gender", "currentSalary"))
+        ), recommended);
+    }
+
+    @Test
+    void recommend_KeepsTheMostSharedIndexes() {
+        List<CandidateIndexManager.IndexSpec> recommended = CandidateIndexManager.recommend(List.of(
+                vacancy(range("age", 1)),
+                vacancy(range("currentSalary", 1)),
+                vacancy(range("currentSalary", 4), new Criterion("name", 1, Criterion.CriterionDetails.createObject(
+                        "ANY", null, null, null)))), 1);
+
+        assertEquals(List.of(new CandidateIndexManager.IndexSpec(List.of("currentSalary"))), recommended);
+    }
+
+    @Test
+    void refresh_CreatesMissingAndDropsObsoleteManagedIndexes() {
+        when(vacancyService.getAllVacancies()).thenReturn(List.of(vacancy(range("currentSalary", 1))));
+        when(mongoTemplate.indexOps(Candidate.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                index("_id_"), index("email"), index("criteria_gender_birthdate")));
+
+        new CandidateIndexManager(mongoTemplate, vacancyService, 8, Duration.ofSeconds(30)).refresh();
+
+        verify(indexOps).ensureIndex(argThat(index -> "criteria_currentSalary".equals(
+                ((Index) index).getIndexOptions().getString("name"))));
+        verify(indexOps).dropIndex("criteria_gender_birthdate");
+        verify(indexOps, never()).dropIndex("email");
+        verify(indexOps, times(1)).ensureIndex(any());
+    }
+
+    private static IndexInfo index(String name) {
+        return new IndexInfo(List.of(), name, false, false, null);
+    }
+
+    private static Criterion range(String name, int weight) {
+        return new Criterion(name, weight, Criterion.CriterionDetails.createObject(
+                "RANGE", BigDecimal.ONE, BigDecimal.TEN, null));
+    }
+
+    private static Criterion enumeration(String name, int weight) {
+        return new Criterion(name, weight, Criterion.CriterionDetails.createObject(
+                "ENUMERATION", null, null, Set.of("MALE")));
+    }
+
+    private static Vacancy vacancy(Criterion... criteria) {
+        return new Vacancy("Vacancy", Set.of(criteria));
+    }
+}
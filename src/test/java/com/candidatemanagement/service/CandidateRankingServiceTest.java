@@ -1,6 +1,10 @@
 package com.candidatemanagement.service;
 
+import com.candidatemanagement.cache.EntityChangedEvent;
 import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.dto.RankingResult;
 import com.candidatemanagement.enums.Gender;
 import com.candidatemanagement.exception.GenericApiException;
 import com.candidatemanagement.exception.ValidationException;
@@ -12,20 +16,35 @@ import com.candidatemanagement.service.criteria.impl.AnyCriterionMatcher;
 import com.candidatemanagement.service.criteria.impl.EnumerationCriterionMatcher;
 import com.candidatemanagement.service.criteria.impl.RangeCriterionMatcher;
 import com.candidatemanagement.service.impl.CandidateRankingServiceImpl;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
 import org.junit.Ignore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -41,7 +60,9 @@ class CandidateRankingServiceTest {
     @Mock
     private CriterionMatcherFactory criterionMatcherFactory;
 
-    @InjectMocks
+    @TempDir
+    private Path spillDirectory;
+
     private CandidateRankingServiceImpl candidateRankingService;
 
     private Candidate sitiRahayu;
@@ -52,6 +73,10 @@ class CandidateRankingServiceTest {
 
     @BeforeEach
     void setUp() {
+        candidateRankingService = new CandidateRankingServiceImpl(
+                candidateService, vacancyService, criterionMatcherFactory, null, Duration.ofSeconds(5), 1000,
+                spillDirectory, DataSize.ofKilobytes(4));
+
         // Create test candidates based on the example data
         sitiRahayu = new Candidate(
                 "Siti Rahayu",
@@ -130,7 +155,7 @@ class CandidateRankingServiceTest {
     void rankCandidatesForVacancy_JuniorSoftwareEngineer_Success() {
         // Mock service calls
         when(vacancyService.getVacancyById("vacancy1")).thenReturn(Optional.of(juniorSoftwareEngineer));
-        when(candidateService.getAllCandidates()).thenReturn(Arrays.asList(sitiRahayu, budiSantoso, indahLestari));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Arrays.asList(sitiRahayu, budiSantoso, indahLestari).stream());
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("vacancy1");
 
@@ -157,14 +182,14 @@ class CandidateRankingServiceTest {
         assertTrue(result.get(1).score() >= result.get(2).score());
 
         verify(vacancyService).getVacancyById("vacancy1");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
     }
 
     @Test
     void rankCandidatesForVacancy_SeniorDeveloper_Success() {
         // Mock service calls
         when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
-        when(candidateService.getAllCandidates()).thenReturn(Arrays.asList(sitiRahayu, budiSantoso, indahLestari));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Arrays.asList(sitiRahayu, budiSantoso, indahLestari).stream());
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("vacancy2");
 
@@ -189,7 +214,7 @@ class CandidateRankingServiceTest {
         assertEquals(budiResult, result.get(0));
 
         verify(vacancyService).getVacancyById("vacancy2");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
     }
 
     @Test
@@ -202,13 +227,13 @@ class CandidateRankingServiceTest {
 
         assertEquals("Vacancy Not Found", exception.getTitle());
         verify(vacancyService).getVacancyById("nonexistent");
-        verify(candidateService, never()).getAllCandidates();
+        verify(candidateService, never()).streamAllCandidates(anyInt());
     }
 
     @Test
     void rankCandidatesForVacancy_NoCandidates_ReturnsEmptyList() {
         when(vacancyService.getVacancyById("vacancy1")).thenReturn(Optional.of(juniorSoftwareEngineer));
-        when(candidateService.getAllCandidates()).thenReturn(Collections.emptyList());
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Collections.emptyList().stream());
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("vacancy1");
 
@@ -216,7 +241,7 @@ class CandidateRankingServiceTest {
         assertTrue(result.isEmpty());
 
         verify(vacancyService).getVacancyById("vacancy1");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
     }
 
     @Test
@@ -229,13 +254,13 @@ class CandidateRankingServiceTest {
         invalidVacancy.setId("invalid");
 
         when(vacancyService.getVacancyById("invalid")).thenReturn(Optional.of(invalidVacancy));
-        when(candidateService.getAllCandidates()).thenReturn(List.of(sitiRahayu));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> List.of(sitiRahayu).stream());
         lenient().when(criterionMatcherFactory.getMatcherByType("INVALID_TYPE")).thenReturn(null);
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("invalid");
         result.forEach(dto -> assertEquals(0, dto.score()));
         verify(vacancyService).getVacancyById("invalid");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
     }
 
     @Test
@@ -247,7 +272,7 @@ class CandidateRankingServiceTest {
         nullDetailsVacancy.setId("null_details");
 
         when(vacancyService.getVacancyById("null_details")).thenReturn(Optional.of(nullDetailsVacancy));
-        when(candidateService.getAllCandidates()).thenReturn(List.of(sitiRahayu));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> List.of(sitiRahayu).stream());
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("null_details");
 
@@ -256,7 +281,7 @@ class CandidateRankingServiceTest {
         assertEquals(0, result.get(0).score()); // No score as the criterion was skipped
 
         verify(vacancyService).getVacancyById("null_details");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
         verify(criterionMatcherFactory, never()).getMatcherByType(anyString());
     }
 
@@ -267,7 +292,7 @@ class CandidateRankingServiceTest {
         emptyCriteriaVacancy.setId("empty");
 
         when(vacancyService.getVacancyById("empty")).thenReturn(Optional.of(emptyCriteriaVacancy));
-        when(candidateService.getAllCandidates()).thenReturn(List.of(sitiRahayu));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> List.of(sitiRahayu).stream());
 
         List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("empty");
 
@@ -276,10 +301,270 @@ class CandidateRankingServiceTest {
         assertEquals(0, result.get(0).score()); // No score as there are no criteria
 
         verify(vacancyService).getVacancyById("empty");
-        verify(candidateService).getAllCandidates();
+        verify(candidateService).streamAllCandidates(anyInt());
         verify(criterionMatcherFactory, never()).getMatcherByType(anyString());
     }
 
+    @Test
+    void rankCandidatesForVacancy_MinScore_SkipsCandidatesThatCannotQualify() {
+        // Salary (weight 5) is evaluated first; without it gender (weight 1) cannot reach the threshold
+        EnumerationCriterionMatcher genderMatcher = spy(new EnumerationCriterionMatcher());
+        when(criterionMatcherFactory.getMatcherByType("ENUMERATION")).thenReturn(genderMatcher);
+        Vacancy vacancy = new Vacancy("Threshold Vacancy", Set.of(
+                new Criterion("gender", 1, Criterion.CriterionDetails.createObject(
+                        "ENUMERATION", null, null, Set.of("FEMALE"))),
+                new Criterion("currentSalary", 5, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("5000000"), new BigDecimal("6000000"), null))
+        ));
+        vacancy.setId("threshold");
+        when(vacancyService.getVacancyById("threshold")).thenReturn(Optional.of(vacancy));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Arrays.asList(sitiRahayu, budiSantoso, indahLestari).stream());
+
+        List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy(
+                "threshold", new RankingQuery(null, 6));
+
+        assertEquals(1, result.size());
+        assertEquals("Siti Rahayu", result.get(0).name());
+        assertEquals(6, result.get(0).score());
+        verify(genderMatcher, times(1)).matches(any(), any());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_MinScoreAboveMaximum_ReturnsEmptyList() {
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Arrays.asList(sitiRahayu, budiSantoso, indahLestari).stream());
+
+        List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy(
+                "vacancy2", new RankingQuery(null, 10));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_LargePool_CountingSortMatchesComparatorOrder() {
+        List<Candidate> pool = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Candidate candidate = new Candidate("Candidate " + i, "candidate" + i + "@example.com",
+                    LocalDate.of(1975 + i % 30, 1 + i % 12, 1), i % 3 == 0 ? Gender.MALE : Gender.FEMALE,
+                    new BigDecimal(3_000_000 + (i * 7919 % 60) * 100_000));
+            candidate.setId(String.format("c%03d", (i * 37) % 300));
+            pool.add(candidate);
+        }
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> pool.stream());
+
+        CandidateScorer scorer = new CandidateScorer(criterionMatcherFactory);
+        List<CandidateScore> expected = pool.stream()
+                .map(candidate -> scorer.score(candidate, seniorDeveloper))
+                .filter(score -> score.score() >= 3)
+                .sorted(CandidateScorer.BY_SCORE_THEN_ID)
+                .toList();
+
+        List<CandidateRankingDto> full = candidateRankingService.rankCandidatesForVacancy(
+                "vacancy2", new RankingQuery(null, 3));
+        List<CandidateRankingDto> top = candidateRankingService.rankCandidatesForVacancy(
+                "vacancy2", new RankingQuery(25, 3));
+
+        assertEquals(expected, full.stream()
+                .map(dto -> new CandidateScore(dto.id(), dto.name(), dto.email(), dto.score()))
+                .toList());
+        assertEquals(full.subList(0, 25), top);
+    }
+
+    @Test
+    void streamRankingForVacancy_FullRankingOverBudget_MergesSpilledRuns() throws Exception {
+        List<Candidate> pool = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Candidate candidate = new Candidate("Candidate " + i, "candidate" + i + "@example.com",
+                    LocalDate.of(1975 + i % 30, 1 + i % 12, 1), i % 3 == 0 ? Gender.MALE : Gender.FEMALE,
+                    new BigDecimal(3_000_000 + (i * 7919 % 60) * 100_000));
+            candidate.setId(String.format("c%03d", (i * 37) % 300));
+            pool.add(candidate);
+        }
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> pool.stream());
+
+        List<CandidateRankingDto> expected = candidateRankingService.rankCandidatesForVacancy(
+                "vacancy2", new RankingQuery(null, 1));
+        List<CandidateRankingDto> streamed;
+        try (Stream<CandidateRankingDto> rankings = candidateRankingService.streamRankingForVacancy(
+                "vacancy2", new RankingQuery(null, 1))) {
+            try (Stream<Path> runs = Files.list(spillDirectory)) {
+                assertTrue(runs.count() > 1);
+            }
+            streamed = rankings.toList();
+        }
+
+        assertEquals(expected, streamed);
+        try (Stream<Path> runs = Files.list(spillDirectory)) {
+            assertEquals(0, runs.count());
+        }
+    }
+
+    @Test
+    void rankCandidatesForVacancy_DeadlinePassed_ReturnsBestOfFirstBatch() {
+        CandidateRankingServiceImpl batched = new CandidateRankingServiceImpl(
+                candidateService, vacancyService, criterionMatcherFactory, null, Duration.ofSeconds(5), 2,
+                spillDirectory, DataSize.ofMegabytes(1));
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Stream.of(sitiRahayu, budiSantoso, indahLestari));
+        when(candidateService.countCandidates()).thenReturn(3L);
+
+        RankingResult result = batched.rankCandidatesForVacancy("vacancy2", new RankingQuery(1), Instant.EPOCH);
+
+        assertTrue(result.partial());
+        assertEquals(200.0 / 3, result.coverage(), 0.001);
+        assertEquals(1, result.rankings().size());
+        assertNotEquals("3", result.rankings().get(0).id());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_DeadlineNotReached_ReturnsCompleteRanking() {
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Stream.of(sitiRahayu, budiSantoso, indahLestari));
+
+        RankingResult result = candidateRankingService.rankCandidatesForVacancy(
+                "vacancy2", RankingQuery.unlimited(), Instant.now().plusSeconds(60));
+
+        assertFalse(result.partial());
+        assertEquals(candidateRankingService.rankCandidatesForVacancy("vacancy2"), result.rankings());
+        verify(candidateService, never()).countCandidates();
+    }
+
+    @Test
+    void streamRankingForVacancy_VacancyNotFound_FailsBeforeStreaming() {
+        when(vacancyService.getVacancyById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(GenericApiException.class,
+                () -> candidateRankingService.streamRankingForVacancy("missing", RankingQuery.unlimited()));
+    }
+
+    @Test
+    void rankCandidatesForVacancy_TiedScores_OrderedByCandidateId() {
+        Candidate second = new Candidate("Tied B", "tied.b@example.com",
+                LocalDate.of(1990, 1, 1), Gender.MALE, new BigDecimal("8000000"));
+        second.setId("b");
+        Candidate first = new Candidate("Tied A", "tied.a@example.com",
+                LocalDate.of(1990, 1, 1), Gender.MALE, new BigDecimal("8000000"));
+        first.setId("a");
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> Arrays.asList(second, first).stream());
+
+        List<CandidateRankingDto> result = candidateRankingService.rankCandidatesForVacancy("vacancy2");
+
+        assertEquals(List.of("a", "b"), result.stream().map(CandidateRankingDto::id).toList());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_ConcurrentIdenticalRequests_ShareOneRanking() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> {
+            leaderLoading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(sitiRahayu, budiSantoso, indahLestari);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<CandidateRankingDto>> leader = callers.submit(
+                    () -> candidateRankingService.rankCandidatesForVacancy("vacancy2"));
+            assertTrue(leaderLoading.await(5, TimeUnit.SECONDS));
+            Future<List<CandidateRankingDto>> follower = callers.submit(
+                    () -> candidateRankingService.rankCandidatesForVacancy("vacancy2"));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertEquals(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+            verify(candidateService, times(1)).streamAllCandidates(anyInt());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rankCandidatesForVacancy_ConcurrentDeadlineRequests_ShareOneRanking() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> {
+            leaderLoading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(sitiRahayu, budiSantoso, indahLestari);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<RankingResult> leader = callers.submit(() -> candidateRankingService.rankCandidatesForVacancy(
+                    "vacancy2", RankingQuery.unlimited(), Instant.now().plusSeconds(60)));
+            assertTrue(leaderLoading.await(5, TimeUnit.SECONDS));
+            Future<RankingResult> follower = callers.submit(() -> candidateRankingService.rankCandidatesForVacancy(
+                    "vacancy2", RankingQuery.unlimited(), Instant.now().plusSeconds(30)));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertEquals(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+            verify(candidateService, times(1)).streamAllCandidates(anyInt());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void submitRanking_IdenticalRankingInFlight_FollowerTakesNoBulkheadPlace() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> {
+            leaderLoading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(sitiRahayu, budiSantoso, indahLestari);
+        });
+        // One ranking at a time and no queue: a second ranking taking a place would be refused
+        RankingBulkhead bulkhead = new RankingBulkhead(1, 1, 0, Duration.ofSeconds(5), Duration.ofSeconds(5), 0);
+        try {
+            CompletableFuture<RankingResult> leader =
+                    candidateRankingService.submitRanking("vacancy2", RankingQuery.unlimited(), null, bulkhead);
+            assertTrue(leaderLoading.await(5, TimeUnit.SECONDS));
+            CompletableFuture<RankingResult> follower =
+                    candidateRankingService.submitRanking("vacancy2", RankingQuery.unlimited(), null, bulkhead);
+            release.countDown();
+
+            assertEquals(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+            verify(candidateService, times(1)).streamAllCandidates(anyInt());
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void rankCandidatesForVacancy_WriteDuringRanking_StartsFreshRanking() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vacancyService.getVacancyById("vacancy2")).thenReturn(Optional.of(seniorDeveloper));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> {
+            leaderLoading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(sitiRahayu, budiSantoso, indahLestari);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<CandidateRankingDto>> stale = callers.submit(
+                    () -> candidateRankingService.rankCandidatesForVacancy("vacancy2"));
+            assertTrue(leaderLoading.await(5, TimeUnit.SECONDS));
+            candidateRankingService.onEntityChanged(new EntityChangedEvent(Candidate.COLLECTION, "2", false));
+            Future<List<CandidateRankingDto>> fresh = callers.submit(
+                    () -> candidateRankingService.rankCandidatesForVacancy("vacancy2"));
+            Thread.sleep(200);
+            release.countDown();
+
+            stale.get(5, TimeUnit.SECONDS);
+            fresh.get(5, TimeUnit.SECONDS);
+            verify(candidateService, times(2)).streamAllCandidates(anyInt());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
     private CandidateRankingDto findCandidateByName(List<CandidateRankingDto> candidates, String name) {
         return candidates.stream()
                 .filter(c -> c.name().equals(name))
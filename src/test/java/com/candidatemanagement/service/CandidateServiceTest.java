@@ -1,5 +1,7 @@
 package com.candidatemanagement.service;
 
+import com.candidatemanagement.cache.CandidateEmailFilter;
+import com.candidatemanagement.cache.EntityChangedEvent;
 import com.candidatemanagement.dto.CandidateRequestDto;
 import com.candidatemanagement.enums.Gender;
 import com.candidatemanagement.exception.GenericApiException;
@@ -8,24 +10,34 @@ import com.candidatemanagement.model.Candidate;
 import com.candidatemanagement.repository.CandidateRepository;
 import com.candidatemanagement.service.impl.CandidateServiceImpl;
 import com.candidatemanagement.utils.ValidationUtils;
+import com.candidatemanagement.writebehind.CandidateWriteLog;
+import com.candidatemanagement.writebehind.PendingCandidateWrite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +46,15 @@ class CandidateServiceTest {
     @Mock
     private CandidateRepository candidateRepository;
 
+    @Spy
+    private CandidateEmailFilter emailFilter = new CandidateEmailFilter(1000, 0.01);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CandidateWriteLog writeLog;
+
     @InjectMocks
     private CandidateServiceImpl candidateService;
 
@@ -114,6 +135,44 @@ class CandidateServiceTest {
         verify(candidateRepository, never()).save(any(Candidate.class));
     }
 
+    @Test
+    void createCandidate_EmailFilterNegative_SkipsExistsQuery() {
+        emailFilter.load(Collections.emptyIterator());
+        when(candidateRepository.save(any(Candidate.class))).thenReturn(testCandidate);
+
+        candidateService.createCandidate(testCandidateDto);
+
+        verify(candidateRepository, never()).existsByEmail(anyString());
+        assertTrue(emailFilter.mightContain(testCandidate.getEmail()));
+    }
+
+    @Test
+    void createCandidate_EmailFilterPositive_ChecksRepository() {
+        Iterator<String> knownEmails = List.of(testCandidateDto.email()).iterator();
+        emailFilter.load(knownEmails);
+        when(candidateRepository.existsByEmail(testCandidateDto.email())).thenReturn(true);
+
+        GenericApiException exception = assertThrows(GenericApiException.class, () -> {
+            candidateService.createCandidate(testCandidateDto);
+        });
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(candidateRepository, never()).save(any(Candidate.class));
+    }
+
+    @Test
+    void createCandidate_UniqueIndexViolation_ThrowsConflict() {
+        emailFilter.load(Collections.emptyIterator());
+        when(candidateRepository.save(any(Candidate.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        GenericApiException exception = assertThrows(GenericApiException.class, () -> {
+            candidateService.createCandidate(testCandidateDto);
+        });
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals("Duplicate Email", exception.getTitle());
+    }
+
     @Test
     void createCandidate_InvalidEmail_ThrowsException() {
         ValidationException exception = assertThrows(ValidationException.class, () -> {
@@ -209,9 +268,8 @@ class CandidateServiceTest {
         );
         updatedCandidate.setId("1");
 
-        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
-        when(candidateRepository.existsByEmail(updatedDto.email())).thenReturn(false);
-        when(candidateRepository.save(any(Candidate.class))).thenReturn(updatedCandidate);
+        when(candidateRepository.existsByEmailAndIdNot(updatedDto.email(), "1")).thenReturn(false);
+        when(candidateRepository.setFieldsById(eq("1"), anyMap())).thenReturn(Optional.of(updatedCandidate));
 
         Candidate result = candidateService.updateCandidate("1", updatedDto);
 
@@ -219,7 +277,12 @@ class CandidateServiceTest {
         assertEquals("John Updated", result.getName());
         assertEquals("john.updated@example.com", result.getEmail());
         assertEquals(new BigDecimal("6000000"), result.getCurrentSalary());
-        verify(candidateRepository).save(any(Candidate.class));
+        verify(candidateRepository).setFieldsById("1", Map.of(
+                "name", "John Updated",
+                "email", "john.updated@example.com",
+                "currentSalary", new BigDecimal("6000000")));
+        verify(candidateRepository, never()).findById(anyString());
+        verify(candidateRepository, never()).save(any(Candidate.class));
     }
 
     @Test
@@ -241,8 +304,7 @@ class CandidateServiceTest {
         );
         expectedResult.setId("1");
 
-        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
-        when(candidateRepository.save(any(Candidate.class))).thenReturn(expectedResult);
+        when(candidateRepository.setFieldsById("1", Map.of("name", "John Updated"))).thenReturn(Optional.of(expectedResult));
 
         Candidate result = candidateService.updateCandidate("1", partialDto);
 
@@ -250,12 +312,12 @@ class CandidateServiceTest {
         assertEquals("John Updated", result.getName());
         assertEquals("john.doe@example.com", result.getEmail()); // unchanged
         assertEquals(new BigDecimal("5000000"), result.getCurrentSalary()); // unchanged
-        verify(candidateRepository).save(any(Candidate.class));
+        verify(candidateRepository, never()).existsByEmailAndIdNot(anyString(), anyString());
     }
 
     @Test
     void updateCandidate_NotFound_ThrowsException() {
-        when(candidateRepository.findById("1")).thenReturn(Optional.empty());
+        when(candidateRepository.setFieldsById(eq("1"), anyMap())).thenReturn(Optional.empty());
 
         GenericApiException exception = assertThrows(GenericApiException.class, () -> {
             candidateService.updateCandidate("1", testCandidateDto);
@@ -263,6 +325,8 @@ class CandidateServiceTest {
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Resource Not Found", exception.getTitle());
+        // Routine outcomes skip the stack walk
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -275,8 +339,7 @@ class CandidateServiceTest {
                 null
         );
 
-        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
-        when(candidateRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(candidateRepository.existsByEmailAndIdNot("existing@example.com", "1")).thenReturn(true);
 
         GenericApiException exception = assertThrows(GenericApiException.class, () -> {
             candidateService.updateCandidate("1", updatedDto);
@@ -284,21 +347,36 @@ class CandidateServiceTest {
 
         assertEquals(HttpStatus.CONFLICT, exception.getStatus());
         assertEquals("Duplicate Email", exception.getTitle());
+        verify(candidateRepository, never()).setFieldsById(anyString(), anyMap());
+    }
+
+    @Test
+    void updateCandidate_UniqueIndexViolation_ThrowsConflict() {
+        CandidateRequestDto updatedDto = new CandidateRequestDto(null, "taken@example.com", null, null, null);
+        when(candidateRepository.existsByEmailAndIdNot("taken@example.com", "1")).thenReturn(false);
+        when(candidateRepository.setFieldsById(eq("1"), anyMap())).thenThrow(new DuplicateKeyException("E11000"));
+
+        GenericApiException exception = assertThrows(GenericApiException.class, () -> {
+            candidateService.updateCandidate("1", updatedDto);
+        });
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
     void deleteCandidate_Success() {
-        when(candidateRepository.existsById("1")).thenReturn(true);
-        doNothing().when(candidateRepository).deleteById("1");
+        when(candidateRepository.deleteOneById("1")).thenReturn(true);
 
         candidateService.deleteCandidate("1");
 
-        verify(candidateRepository).deleteById("1");
+        verify(candidateRepository).deleteOneById("1");
+        verify(candidateRepository, never()).existsById(anyString());
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Candidate.COLLECTION, "1", true));
     }
 
     @Test
     void deleteCandidate_NotFound_ThrowsException() {
-        when(candidateRepository.existsById("1")).thenReturn(false);
+        when(candidateRepository.deleteOneById("1")).thenReturn(false);
 
         GenericApiException exception = assertThrows(GenericApiException.class, () -> {
             candidateService.deleteCandidate("1");
@@ -307,4 +385,127 @@ class CandidateServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Resource Not Found", exception.getTitle());
     }
+
+    @Test
+    void createCandidate_WriteBehind_AppendsToLogInsteadOfMongo() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.claimEmail(eq(testCandidateDto.email()), anyString())).thenReturn(true);
+        when(candidateRepository.existsByEmail(testCandidateDto.email())).thenReturn(false);
+
+        Candidate result = candidateService.createCandidate(testCandidateDto);
+
+        assertNotNull(result.getId());
+        verify(writeLog).appendUpsert(result);
+        verify(candidateRepository, never()).save(any(Candidate.class));
+        assertTrue(emailFilter.mightContain(testCandidateDto.email()));
+    }
+
+    @Test
+    void createCandidate_WriteBehind_PendingEmail_ThrowsConflict() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.claimEmail(eq(testCandidateDto.email()), anyString())).thenReturn(false);
+
+        GenericApiException exception = assertThrows(GenericApiException.class, () ->
+                candidateService.createCandidate(testCandidateDto));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(writeLog, never()).appendUpsert(any());
+    }
+
+    @Test
+    void createCandidate_WriteBehind_StoredEmail_ReleasesClaim() {
+        emailFilter.put(testCandidateDto.email());
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.claimEmail(eq(testCandidateDto.email()), anyString())).thenReturn(true);
+        when(candidateRepository.existsByEmail(testCandidateDto.email())).thenReturn(true);
+
+        assertThrows(GenericApiException.class, () -> candidateService.createCandidate(testCandidateDto));
+
+        verify(writeLog).releaseEmail(eq(testCandidateDto.email()), anyString());
+        verify(writeLog, never()).appendUpsert(any());
+    }
+
+    @Test
+    void getCandidateById_WriteBehind_ReadsPendingWrite() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.pendingWrite("1")).thenReturn(Optional.of(new PendingCandidateWrite(1, "1", testCandidate)));
+
+        assertEquals(Optional.of(testCandidate), candidateService.getCandidateById("1"));
+        verify(candidateRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getAllCandidates_WriteBehind_MergesPendingWrites() {
+        Candidate other = new Candidate("Jane Doe", "jane.doe@example.com", LocalDate.of(1992, 2, 2),
+                Gender.FEMALE, new BigDecimal("6000000"));
+        other.setId("2");
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(candidateRepository.findAll()).thenReturn(List.of(testCandidate));
+        when(writeLog.pendingWrites()).thenReturn(List.of(
+                new PendingCandidateWrite(1, "1", null),
+                new PendingCandidateWrite(2, "2", other)));
+
+        assertEquals(List.of(other), candidateService.getAllCandidates());
+    }
+
+    @Test
+    void streamAllCandidates_WriteBehind_ReplacesStoredVersions() {
+        Candidate stored = new Candidate("Jim Doe", "jim.doe@example.com", LocalDate.of(1991, 3, 3),
+                Gender.MALE, new BigDecimal("4000000"));
+        stored.setId("3");
+        Candidate other = new Candidate("Jane Doe", "jane.doe@example.com", LocalDate.of(1992, 2, 2),
+                Gender.FEMALE, new BigDecimal("6000000"));
+        other.setId("2");
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(candidateRepository.streamAll(0)).thenReturn(Stream.of(testCandidate, stored));
+        when(writeLog.pendingWrites()).thenReturn(List.of(
+                new PendingCandidateWrite(1, "1", null),
+                new PendingCandidateWrite(2, "2", other)));
+
+        try (Stream<Candidate> candidates = candidateService.streamAllCandidates()) {
+            assertEquals(List.of(stored, other), candidates.toList());
+        }
+    }
+
+    @Test
+    void countCandidates_WriteBehind_CountsPendingWrites() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(candidateRepository.count()).thenReturn(10L);
+        when(writeLog.pendingWrites()).thenReturn(List.of(
+                new PendingCandidateWrite(1, "1", null),
+                new PendingCandidateWrite(2, "2", testCandidate),
+                new PendingCandidateWrite(3, "3", testCandidate)));
+        // Candidates 1 and 2 are stored; 3 is new
+        when(candidateRepository.countWhereIn("id", List.of("1", "2", "3"))).thenReturn(2L);
+
+        assertEquals(10, candidateService.countCandidates());
+    }
+
+    @Test
+    void updateCandidate_WriteBehind_AppendsMergedCandidate() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.pendingWrite("1")).thenReturn(Optional.empty());
+        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
+
+        Candidate result = candidateService.updateCandidate("1",
+                new CandidateRequestDto("John Updated", null, null, null, null));
+
+        assertEquals("John Updated", result.getName());
+        assertEquals(testCandidate.getEmail(), result.getEmail());
+        assertEquals("John Doe", testCandidate.getName());
+        verify(writeLog).appendUpsert(result);
+        verify(candidateRepository, never()).setFieldsById(anyString(), anyMap());
+    }
+
+    @Test
+    void deleteCandidate_WriteBehind_AppendsDelete() {
+        when(writeLog.isEnabled()).thenReturn(true);
+        when(writeLog.pendingWrite("1")).thenReturn(Optional.empty());
+        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
+
+        candidateService.deleteCandidate("1");
+
+        verify(writeLog).appendDelete("1");
+        verify(candidateRepository, never()).deleteOneById(anyString());
+    }
 }
@@ -0,0 +1,207 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.writebehind.CandidateWriteLog;
+import com.candidatemanagement.writebehind.PendingCandidateWrite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateWriteLogTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path logDirectory;
+
+    private final List<CandidateWriteLog> started = new ArrayList<>();
+    private Candidate candidate;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Candidate.class)).thenReturn(bulkOperations);
+
+        candidate = new Candidate("John Doe", "john.doe@example.com", LocalDate.of(1990, 1, 1),
+                Gender.MALE, new BigDecimal("5000000"));
+        candidate.setId("65f1c2a4b7e8d90012345678");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (CandidateWriteLog writeLog : started) {
+            writeLog.stop();
+        }
+    }
+
+    @Test
+    void appendUpsert_IsReadableBeforeFlush() throws IOException {
+        CandidateWriteLog writeLog = start();
+
+        writeLog.appendUpsert(candidate);
+
+        assertSame(candidate, writeLog.pendingWrite(candidate.getId()).orElseThrow().candidate());
+        verify(mongoTemplate, never()).bulkOps(any(), eq(Candidate.class));
+    }
+
+    @Test
+    void claimEmail_HeldByPendingWriteUntilFlushed() throws IOException {
+        CandidateWriteLog writeLog = start();
+        assertTrue(writeLog.claimEmail("john.doe@example.com", candidate.getId()));
+        writeLog.appendUpsert(candidate);
+
+        assertFalse(writeLog.claimEmail("john.doe@example.com", "65f1c2a4b7e8d90087654321"));
+        assertTrue(writeLog.claimEmail("john.doe@example.com", candidate.getId()));
+
+        writeLog.flush();
+
+        assertTrue(writeLog.claimEmail("john.doe@example.com", "65f1c2a4b7e8d90087654321"));
+    }
+
+    @Test
+    void start_ReplaysUnflushedWritesAfterCrash() throws IOException {
+        CandidateWriteLog crashed = start();
+        crashed.appendUpsert(candidate);
+        crashed.appendDelete("65f1c2a4b7e8d90087654321");
+
+        CandidateWriteLog restarted = start();
+
+        PendingCandidateWrite replayed = restarted.pendingWrite(candidate.getId()).orElseThrow();
+        assertEquals("John Doe", replayed.candidate().getName());
+        assertEquals(LocalDate.of(1990, 1, 1), replayed.candidate().getBirthdate());
+        assertEquals(Gender.MALE, replayed.candidate().getGender());
+        assertEquals(0, new BigDecimal("5000000").compareTo(replayed.candidate().getCurrentSalary()));
+        assertTrue(restarted.pendingWrite("65f1c2a4b7e8d90087654321").orElseThrow().isDelete());
+    }
+
+    @Test
+    void start_SkipsUnreadableRecordAndReplaysTheRest() throws IOException {
+        Files.writeString(logDirectory.resolve("candidate-writes-0.log"),
+                "{\"seq\": 1, \"id\": \"65f1c2a4b7e8d90087654321\"}\n"
+                        + "{\"seq\": 2, \"id\": \"65f1c2a4b7e8d9008765\n"
+                        + "{\"seq\": 3, \"id\": \"65f1c2a4b7e8d90087654322\"}\n");
+
+        CandidateWriteLog restarted = start();
+
+        assertTrue(restarted.pendingWrite("65f1c2a4b7e8d90087654321").orElseThrow().isDelete());
+        assertTrue(restarted.pendingWrite("65f1c2a4b7e8d90087654322").orElseThrow().isDelete());
+    }
+
+    @Test
+    void flush_WritesBulkAndDeletesFlushedSegments() throws IOException {
+        CandidateWriteLog writeLog = start();
+        writeLog.appendUpsert(candidate);
+        writeLog.appendDelete("65f1c2a4b7e8d90087654321");
+
+        writeLog.flush();
+
+        verify(bulkOperations).replaceOne(any(Query.class), eq(candidate), any());
+        verify(bulkOperations).remove(any(Query.class));
+        verify(bulkOperations).execute();
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Candidate.COLLECTION, candidate.getId(), false));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Candidate.COLLECTION, "65f1c2a4b7e8d90087654321", true));
+        assertTrue(writeLog.pendingWrites().isEmpty());
+        assertEquals(0, logSize());
+    }
+
+    @Test
+    void flush_WritesArrivingDuringEveryFlush_ReplaysOnlyUnflushedBacklog() throws IOException {
+        CandidateWriteLog writeLog = start();
+        AtomicInteger arrivals = new AtomicInteger();
+        doAnswer(invocation -> {
+            writeLog.appendDelete("65f1c2a4b7e8d9008765432" + arrivals.incrementAndGet());
+            return null;
+        }).when(bulkOperations).execute();
+        writeLog.appendUpsert(candidate);
+
+        for (int i = 0; i < 5; i++) {
+            writeLog.flush();
+        }
+
+        CandidateWriteLog restarted = start();
+
+        assertEquals(1, restarted.pendingWrites().size());
+        assertTrue(restarted.pendingWrite("65f1c2a4b7e8d90087654325").orElseThrow().isDelete());
+    }
+
+    @Test
+    void flush_MongoUnavailable_KeepsWritesPending() throws IOException {
+        CandidateWriteLog writeLog = start();
+        writeLog.appendUpsert(candidate);
+        when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        writeLog.flush();
+
+        assertTrue(writeLog.pendingWrite(candidate.getId()).isPresent());
+        assertTrue(logSize() > 0);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private long logSize() throws IOException {
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            long size = 0;
+            for (Path file : files.toList()) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private CandidateWriteLog start() throws IOException {
+        CandidateWriteLog writeLog = new CandidateWriteLog(mongoTemplate, cacheManager, eventPublisher,
+                true, logDirectory, Duration.ofHours(1), 100);
+        writeLog.start();
+        started.add(writeLog);
+        return writeLog;
+    }
+}
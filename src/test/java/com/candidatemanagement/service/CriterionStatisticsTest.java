@@ -0,0 +1,184 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.dto.CriterionStatisticsDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.service.criteria.impl.EnumerationCriterionMatcher;
+import com.candidatemanagement.service.criteria.impl.RangeCriterionMatcher;
+import com.candidatemanagement.service.impl.CandidateRankingServiceImpl;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.CriterionStatistics;
+import com.candidatemanagement.service.ranking.ScoringPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CriterionStatisticsTest {
+
+    private static final int POOL_SIZE = 100;
+
+    @Mock
+    private CandidateService candidateService;
+
+    @Mock
+    private VacancyService vacancyService;
+
+    @Mock
+    private CriterionMatcherFactory criterionMatcherFactory;
+
+    private RangeCriterionMatcher rangeMatcher;
+    private EnumerationCriterionMatcher enumMatcher;
+    private CriterionStatistics statistics;
+    private Vacancy vacancy;
+    private List<Candidate> pool;
+
+    @BeforeEach
+    void setUp() {
+        rangeMatcher = spy(new RangeCriterionMatcher());
+        enumMatcher = spy(new EnumerationCriterionMatcher());
+        lenient().when(criterionMatcherFactory.getMatcherByType("RANGE")).thenReturn(rangeMatcher);
+        lenient().when(criterionMatcherFactory.getMatcherByType("ENUMERATION")).thenReturn(enumMatcher);
+        statistics = new CriterionStatistics(50, 0.05);
+
+        // Every candidate is in the salary range, only two of them are male
+        vacancy = new Vacancy("Skewed Vacancy", Set.of(
+                new Criterion("currentSalary", 5, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("1000000"), new BigDecimal("9000000"), null)),
+                new Criterion("gender", 3, Criterion.CriterionDetails.createObject(
+                        "ENUMERATION", null, null, Set.of("MALE")))
+        ));
+        vacancy.setId("skewed");
+
+        pool = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Candidate candidate = new Candidate("Candidate " + i, "candidate" + i + "@example.com",
+                    LocalDate.of(1990, 1, 1), i < 2 ? Gender.MALE : Gender.FEMALE, new BigDecimal("5000000"));
+            candidate.setId(String.valueOf(i));
+            pool.add(candidate);
+        }
+    }
+
+    @Test
+    void plan_SelectiveCriterionMovesAheadOnceObserved() {
+        CandidateScorer scorer = new CandidateScorer(criterionMatcherFactory, statistics);
+        observe(scorer);
+        clearInvocations(rangeMatcher, enumMatcher);
+
+        ScoringPlan plan = scorer.plan(vacancy);
+        pool.forEach(candidate -> plan.scoreAtLeast(candidate, 8));
+
+        // Gender now runs first and rules out every woman before the salary range is looked at
+        verify(enumMatcher, times(POOL_SIZE)).matches(any(), any());
+        verify(rangeMatcher, times(2)).matches(any(), any());
+    }
+
+    @Test
+    void plan_UnobservedVacancyKeepsHeaviestFirst() {
+        CandidateScorer scorer = new CandidateScorer(criterionMatcherFactory, statistics);
+
+        ScoringPlan plan = scorer.plan(vacancy);
+        pool.forEach(candidate -> plan.scoreAtLeast(candidate, 8));
+
+        verify(rangeMatcher, times(POOL_SIZE)).matches(any(), any());
+        verify(enumMatcher, times(POOL_SIZE)).matches(any(), any());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_SelectiveMandatoryCriterionIsLookedUp() {
+        CandidateRankingServiceImpl rankingService = new CandidateRankingServiceImpl(
+                candidateService, vacancyService, criterionMatcherFactory, statistics, Duration.ofSeconds(30), 1000, null, null);
+        when(vacancyService.getVacancyById("skewed")).thenReturn(Optional.of(vacancy));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> pool.stream());
+        when(candidateService.streamCandidatesWhereIn(eq("gender"), anyCollection(), anyInt()))
+                .thenAnswer(invocation -> pool.subList(0, 2).stream());
+
+        assertEquals(2, rankingService.rankCandidatesForVacancy("skewed", new RankingQuery(null, 8)).size());
+        assertEquals(2, rankingService.rankCandidatesForVacancy("skewed", new RankingQuery(null, 8)).size());
+
+        verify(candidateService, times(1)).streamAllCandidates(anyInt());
+        verify(candidateService).streamCandidatesWhereIn(eq("gender"), eq(List.of("MALE")), anyInt());
+    }
+
+    @Test
+    void rankCandidatesForVacancy_OptionalCriterionIsNeverLookedUp() {
+        CandidateRankingServiceImpl rankingService = new CandidateRankingServiceImpl(
+                candidateService, vacancyService, criterionMatcherFactory, statistics, Duration.ofSeconds(30), 1000, null, null);
+        when(vacancyService.getVacancyById("skewed")).thenReturn(Optional.of(vacancy));
+        when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> pool.stream());
+
+        rankingService.rankCandidatesForVacancy("skewed", new RankingQuery(null, 5));
+        rankingService.rankCandidatesForVacancy("skewed", new RankingQuery(null, 5));
+
+        verify(candidateService, times(2)).streamAllCandidates(anyInt());
+        verify(candidateService, never()).streamCandidatesWhereIn(any(), any(), anyInt());
+    }
+
+    @Test
+    void statistics_ReportsMatchRatesAndAccessPaths() {
+        observe(new CandidateScorer(criterionMatcherFactory, statistics));
+
+        List<CriterionStatisticsDto> observed = statistics.statistics("skewed");
+
+        assertEquals(2, observed.size());
+        CriterionStatisticsDto salary = observed.get(0);
+        CriterionStatisticsDto gender = observed.get(1);
+        assertEquals("currentSalary", salary.criterion());
+        assertEquals(1.0, salary.matchRate());
+        assertEquals("SCAN", salary.access());
+        assertEquals("gender", gender.criterion());
+        assertEquals(POOL_SIZE, gender.evaluations());
+        assertEquals(0.02, gender.matchRate());
+        assertEquals("INDEX", gender.access());
+        assertTrue(statistics.statistics().containsKey("skewed"));
+    }
+
+    @Test
+    void record_ChangedCriterionStartsOver() {
+        CandidateScorer scorer = new CandidateScorer(criterionMatcherFactory, statistics);
+        observe(scorer);
+
+        Vacancy changed = new Vacancy("Skewed Vacancy", Set.of(
+                new Criterion("currentSalary", 5, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("1000000"), new BigDecimal("9000000"), null)),
+                new Criterion("gender", 3, Criterion.CriterionDetails.createObject(
+                        "ENUMERATION", null, null, Set.of("FEMALE")))
+        ));
+        changed.setId("skewed");
+        ScoringPlan plan = scorer.plan(changed);
+        plan.score(pool.get(0));
+        scorer.record(changed, plan, null);
+
+        CriterionStatisticsDto gender = statistics.statistics("skewed").get(1);
+        assertEquals(1, gender.evaluations());
+        assertEquals(0, gender.matches());
+    }
+
+    // Unthresholded scoring evaluates every criterion of every candidate
+    private void observe(CandidateScorer scorer) {
+        ScoringPlan plan = scorer.plan(vacancy);
+        pool.forEach(plan::score);
+        scorer.record(vacancy, plan, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.service.export.CsvExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CsvExportServiceTest {
+
+    @Mock
+    private CandidateService candidateService;
+
+    private CsvExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        // A tiny buffer so that every export spills it many times
+        exportService = new CsvExportService(candidateService, 64);
+    }
+
+    @Test
+    void writeCandidates_StreamsEveryCandidateAndClosesTheCursor() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Candidate candidate = new Candidate("Doe, John", "john.doe@example.com",
+                LocalDate.of(1990, 1, 1), Gender.MALE, new BigDecimal("5E+6"));
+        candidate.setId("1");
+        when(candidateService.streamAllCandidates()).thenReturn(Stream.of(candidate).onClose(() -> closed.set(true)));
+
+        String csv = export(out -> exportService.writeCandidates(out));
+
+        assertEquals("id,name,email,birthdate,gender,currentSalary\r\n"
+                + "1,\"Doe, John\",john.doe@example.com,1990-01-01,MALE,5000000\r\n", csv);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void writeRankings_EscapesQuotesAndFormulas() throws IOException {
+        String csv = export(out -> exportService.writeRankings(List.of(
+                new CandidateRankingDto(1, "c1", "Jim \"JD\" Doe", "jim@example.com", 9),
+                new CandidateRankingDto(2, "c2", "=HYPERLINK(\"x\")", "jane@example.com", 4)), out));
+
+        assertEquals("rank,id,name,email,score\r\n"
+                + "1,c1,\"Jim \"\"JD\"\" Doe\",jim@example.com,9\r\n"
+                + "2,c2,\"'=HYPERLINK(\"\"x\"\")\",jane@example.com,4\r\n", csv);
+    }
+
+    @Test
+    void writeRankings_LargeExportIsComplete() throws IOException {
+        List<CandidateRankingDto> rankings = IntStream.range(0, 10_000)
+                .mapToObj(i -> new CandidateRankingDto(i + 1, "c" + i, "Candidate " + i, "c" + i + "@example.com", i % 10))
+                .toList();
+
+        String csv = export(out -> exportService.writeRankings(rankings, out));
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(10_001, lines.length);
+        assertEquals("10000,c9999,Candidate 9999,c9999@example.com,9", lines[10_000]);
+    }
+
+    private interface Export {
+        void writeTo(ByteArrayOutputStream out) throws IOException;
+    }
+
+    private static String export(Export export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,211 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.model.criteria.Criterion;
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.service.criteria.impl.AnyCriterionMatcher;
+import com.candidatemanagement.service.criteria.impl.EnumerationCriterionMatcher;
+import com.candidatemanagement.service.criteria.impl.RangeCriterionMatcher;
+import com.candidatemanagement.service.impl.CandidateRankingServiceImpl;
+import com.candidatemanagement.service.ranking.distributed.DistributedCandidateRankingService;
+import com.candidatemanagement.service.ranking.distributed.InProcessRankingTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the scatter-gather ranking against several in-process partitions and checks it agrees with the
+ * single-node ranking.
+ */
+@ExtendWith(MockitoExtension.class)
+class DistributedCandidateRankingServiceTest {
+
+    private static final int PARTITIONS = 3;
+
+    @Mock
+    private CandidateRepository candidateRepository;
+
+    @Mock
+    private VacancyService vacancyService;
+
+    @Mock
+    private CandidateService candidateService;
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    private CriterionMatcherFactory criterionMatcherFactory;
+    private InProcessRankingTransport transport;
+    private DistributedCandidateRankingService distributedRankingService;
+    private List<Candidate> candidates;
+    private Vacancy vacancy;
+
+    @BeforeEach
+    void setUp() {
+        criterionMatcherFactory = new CriterionMatcherFactory(
+                new AnyCriterionMatcher(), new EnumerationCriterionMatcher(), new RangeCriterionMatcher());
+
+        candidates = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Candidate candidate = new Candidate(
+                    "Candidate " + i,
+                    "candidate" + i + "@example.com",
+                    LocalDate.of(1970 + random.nextInt(35), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+                    new BigDecimal(3_000_000 + random.nextInt(7_000_000))
+            );
+            candidate.setId(String.format("%024x", i));
+            candidates.add(candidate);
+        }
+
+        vacancy = new Vacancy("Senior Developer", Set.of(
+                new Criterion("age", 2, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("30"), new BigDecimal("45"), null)),
+                new Criterion("gender", 3, Criterion.CriterionDetails.createObject(
+                        "ENUMERATION", null, null, Set.of("MALE"))),
+                new Criterion("currentSalary", 4, Criterion.CriterionDetails.createObject(
+                        "RANGE", new BigDecimal("7000000"), new BigDecimal("10000000"), null))
+        ));
+        vacancy.setId("vacancy1");
+
+        lenient().when(candidateRepository.streamAllBy()).thenAnswer(invocation -> candidates.stream());
+        lenient().when(vacancyService.getVacancyById("vacancy1")).thenReturn(Optional.of(vacancy));
+        lenient().when(candidateService.streamAllCandidates(anyInt())).thenAnswer(invocation -> candidates.stream());
+
+        transport = new InProcessRankingTransport(candidateRepository, criterionMatcherFactory, null, PARTITIONS, snapshotDirectory);
+        distributedRankingService = new DistributedCandidateRankingService(
+                vacancyService, transport, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.shutdown();
+    }
+
+    @Test
+    void rankCandidatesForVacancy_FullRanking_MatchesSingleNodeScores() {
+        CandidateRankingServiceImpl singleNode = new CandidateRankingServiceImpl(
+                candidateService, vacancyService, criterionMatcherFactory, null, Duration.ofSeconds(30), 1000, null, null);
+
+        List<CandidateRankingDto> expected = singleNode.rankCandidatesForVacancy("vacancy1");
+        List<CandidateRankingDto> result = distributedRankingService.rankCandidatesForVacancy("vacancy1");
+
+        assertEquals(expected.size(), result.size());
+        assertEquals(expected.stream().map(CandidateRankingDto::score).toList(),
+                result.stream().map(CandidateRankingDto::score).toList());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i + 1, result.get(i).rank());
+            assertNotNull(result.get(i).name());
+            assertNotNull(result.get(i).email());
+        }
+    }
+
+    @Test
+    void rankCandidatesForVacancy_TopK_MergesPartitionResults() {
+        List<CandidateRankingDto> full = distributedRankingService.rankCandidatesForVacancy("vacancy1");
+
+        List<CandidateRankingDto> top = distributedRankingService.rankCandidatesForVacancy("vacancy1", new RankingQuery(10));
+
+        assertEquals(10, top.size());
+        assertEquals(full.subList(0, 10), top);
+    }
+
+    @Test
+    void rankCandidatesForVacancy_MinScore_KeepsOnlyQualifyingCandidates() {
+        List<CandidateRankingDto> full = distributedRankingService.rankCandidatesForVacancy("vacancy1");
+
+        List<CandidateRankingDto> qualifying = distributedRankingService.rankCandidatesForVacancy(
+                "vacancy1", new RankingQuery(null, 7));
+
+        assertFalse(qualifying.isEmpty());
+        assertEquals(full.stream().filter(dto -> dto.score() >= 7).toList(), qualifying);
+    }
+
+    @Test
+    void onEntityChanged_DeletedCandidateLeavesRanking() throws Exception {
+        distributedRankingService.rankCandidatesForVacancy("vacancy1");
+        String removedId = candidates.get(0).getId();
+
+        transport.onEntityChanged(new EntityChangedEvent(Candidate.COLLECTION, removedId, true));
+        transport.awaitUpdates(Duration.ofSeconds(5));
+
+        List<CandidateRankingDto> result = distributedRankingService.rankCandidatesForVacancy("vacancy1");
+        assertEquals(candidates.size() - 1, result.size());
+        assertTrue(result.stream().noneMatch(dto -> dto.id().equals(removedId)));
+        verify(candidateRepository, times(1)).streamAllBy();
+    }
+
+    @Test
+    void restart_ServesRankingFromSnapshotBeforeMongoCatchUp() throws InterruptedException {
+        List<CandidateRankingDto> beforeRestart = distributedRankingService.rankCandidatesForVacancy("vacancy1");
+        transport.shutdown();
+
+        CandidateRepository restartedRepository = mock(CandidateRepository.class);
+        CountDownLatch catchUpReleased = new CountDownLatch(1);
+        when(restartedRepository.streamAllBy()).thenAnswer(invocation -> {
+            catchUpReleased.await();
+            return Stream.<Candidate>empty();
+        });
+        transport = new InProcessRankingTransport(restartedRepository, criterionMatcherFactory, null, PARTITIONS, snapshotDirectory);
+        DistributedCandidateRankingService restarted = new DistributedCandidateRankingService(
+                vacancyService, transport, Duration.ofSeconds(10));
+
+        try {
+            assertEquals(beforeRestart, restarted.rankCandidatesForVacancy("vacancy1"));
+            verify(restartedRepository, never()).findAllById(any());
+        } finally {
+            catchUpReleased.countDown();
+        }
+    }
+
+    @Test
+    void reload_FailingMongoStream_LeavesNoTemporaryFiles() throws IOException {
+        when(candidateRepository.streamAllBy()).thenAnswer(invocation -> Stream.concat(
+                candidates.stream().limit(10),
+                Stream.<Candidate>generate(() -> {
+                    throw new IllegalStateException("cursor lost");
+                }).limit(1)));
+
+        assertThrows(IllegalStateException.class, () -> transport.reload());
+
+        try (Stream<Path> files = Files.list(snapshotDirectory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void rankCandidatesForVacancy_VacancyNotFound_ThrowsException() {
+        when(vacancyService.getVacancyById("missing")).thenReturn(Optional.empty());
+
+        GenericApiException exception = assertThrows(GenericApiException.class, () ->
+                distributedRankingService.rankCandidatesForVacancy("missing"));
+
+        assertEquals("Vacancy Not Found", exception.getTitle());
+    }
+}
@@ -0,0 +1,155 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.cache.CandidateEmailFilter;
+import com.candidatemanagement.config.CacheConfig;
+import com.candidatemanagement.dto.CandidateRequestDto;
+import com.candidatemanagement.enums.Gender;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.repository.VacancyRepository;
+import com.candidatemanagement.service.impl.CandidateServiceImpl;
+import com.candidatemanagement.service.impl.VacancyServiceImpl;
+import com.candidatemanagement.writebehind.CandidateWriteLog;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(EntityCacheTest.TestConfig.class)
+class EntityCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, CandidateEmailFilter.class, CandidateServiceImpl.class, VacancyServiceImpl.class})
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                    CacheConfig.CANDIDATES_CACHE, CacheConfig.VACANCIES_CACHE);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+
+        @Bean
+        CandidateRepository candidateRepository() {
+            return mock(CandidateRepository.class);
+        }
+
+        @Bean
+        VacancyRepository vacancyRepository() {
+            return mock(VacancyRepository.class);
+        }
+
+        @Bean
+        CandidateWriteLog candidateWriteLog() {
+            return mock(CandidateWriteLog.class);
+        }
+    }
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private VacancyService vacancyService;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Candidate testCandidate;
+
+    @BeforeEach
+    void setUp() {
+        reset(candidateRepository, vacancyRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        testCandidate = new Candidate(
+                "John Doe",
+                "john.doe@example.com",
+                LocalDate.of(1990, 1, 1),
+                Gender.MALE,
+                new BigDecimal("5000000")
+        );
+        testCandidate.setId("1");
+    }
+
+    @Test
+    void getCandidateById_SecondReadServedFromCache() {
+        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
+
+        assertTrue(candidateService.getCandidateById("1").isPresent());
+        assertTrue(candidateService.getCandidateById("1").isPresent());
+
+        verify(candidateRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void getCandidateById_MissIsNotCached() {
+        when(candidateRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertTrue(candidateService.getCandidateById("missing").isEmpty());
+        assertTrue(candidateService.getCandidateById("missing").isEmpty());
+
+        verify(candidateRepository, times(2)).findById("missing");
+    }
+
+    @Test
+    void updateCandidate_RefreshesCachedEntry() {
+        Candidate updated = new Candidate("John Updated", testCandidate.getEmail(), testCandidate.getBirthdate(),
+                testCandidate.getGender(), testCandidate.getCurrentSalary());
+        updated.setId("1");
+        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
+        when(candidateRepository.setFieldsById(eq("1"), anyMap())).thenReturn(Optional.of(updated));
+        candidateService.getCandidateById("1");
+
+        candidateService.updateCandidate("1", new CandidateRequestDto("John Updated", null, null, null, null));
+
+        assertEquals("John Updated", candidateService.getCandidateById("1").orElseThrow().getName());
+    }
+
+    @Test
+    void deleteCandidate_EvictsCachedEntry() {
+        when(candidateRepository.findById("1")).thenReturn(Optional.of(testCandidate));
+        when(candidateRepository.deleteOneById("1")).thenReturn(true);
+        candidateService.getCandidateById("1");
+
+        candidateService.deleteCandidate("1");
+        candidateService.getCandidateById("1");
+
+        verify(candidateRepository, times(2)).findById("1");
+    }
+
+    @Test
+    void getVacancyById_SecondReadServedFromCache() {
+        Vacancy vacancy = new Vacancy("Software Engineer", Set.of());
+        vacancy.setId("v1");
+        when(vacancyRepository.findById("v1")).thenReturn(Optional.of(vacancy));
+
+        vacancyService.getVacancyById("v1");
+        vacancyService.getVacancyById("v1");
+
+        verify(vacancyRepository, times(1)).findById("v1");
+    }
+}
@@ -0,0 +1,62 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.dto.CandidateScore;
+import com.candidatemanagement.service.ranking.CandidateScorer;
+import com.candidatemanagement.service.ranking.ExternalScoreSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalScoreSortTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void sorted_WithinBudget_NeverSpills() {
+        try (ExternalScoreSort sort = new ExternalScoreSort(directory, Long.MAX_VALUE)) {
+            sort.add(new CandidateScore("b", "B", "b@example.com", 3));
+            sort.add(new CandidateScore("a", "A", "a@example.com", 3));
+            sort.add(new CandidateScore("c", "C", "c@example.com", 7));
+
+            assertEquals(0, sort.runs());
+            assertEquals(List.of("c", "a", "b"), sort.sorted().map(CandidateScore::id).toList());
+        }
+    }
+
+    @Test
+    void sorted_OverBudget_MergesRunsInRankingOrderAndDeletesThem() throws IOException {
+        Random random = new Random(42);
+        List<CandidateScore> scores = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            scores.add(new CandidateScore("id-" + random.nextInt(100_000), "Kandidat " + i + " é中", null,
+                    random.nextInt(20)));
+        }
+        // Records larger than the channel buffer are written and read across refills
+        scores.add(new CandidateScore("long", "x".repeat(200_000), "long@example.com", 5));
+        scores.add(new CandidateScore(null, null, null, 0));
+
+        ExternalScoreSort sort = new ExternalScoreSort(directory, 16 * 1024);
+        scores.forEach(sort::add);
+        assertTrue(sort.runs() > 10);
+
+        List<CandidateScore> sorted;
+        try (Stream<CandidateScore> merged = sort.sorted()) {
+            sorted = merged.toList();
+        }
+
+        assertEquals(scores.stream().sorted(CandidateScorer.BY_SCORE_THEN_ID).toList(), sorted);
+        try (Stream<Path> runs = Files.list(directory)) {
+            assertEquals(0, runs.count());
+        }
+    }
+}
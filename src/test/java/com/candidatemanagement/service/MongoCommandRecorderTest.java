@@ -0,0 +1,134 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.instrumentation.MongoCommandRecorder;
+import com.candidatemanagement.instrumentation.RepositoryCallTagger;
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.repository.CandidateRepositoryCustom;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoCommandRecorderTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoCommandRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new MongoCommandRecorder(meterRegistry, Duration.ofMillis(100));
+    }
+
+    @Test
+    void commandSucceeded_RecordsLatencyDocumentsAndBytesByCaller() throws Throwable {
+        BsonDocument reply = BsonDocument.parse(
+                "{cursor: {id: {$numberLong: '42'}, ns: 'db.candidates', firstBatch: [{_id: 1}, {_id: 2}]}, ok: 1}");
+        tagged(() -> recorder.commandStarted(started(1, "find",
+                "{find: 'candidates', filter: {gender: {$in: ['MALE']}}, batchSize: 2}")));
+        recorder.commandSucceeded(succeeded(1, "find", reply, 3));
+
+        // The getMore runs after the repository call has returned its stream, and still counts for its caller
+        recorder.commandStarted(started(2, "getMore", "{getMore: {$numberLong: '42'}, collection: 'candidates'}"));
+        recorder.commandSucceeded(succeeded(2, "getMore", BsonDocument.parse(
+                "{cursor: {id: {$numberLong: '0'}, ns: 'db.candidates', nextBatch: [{_id: 3}]}, ok: 1}"), 1));
+
+        Timer find = meterRegistry.get("candidate.mongo.commands")
+                .tag("command", "find").tag("collection", "candidates")
+                .tag("caller", "MongoCommandRecorderTest.tagged").tag("repository", "CandidateRepository.findAllWhereIn")
+                .timer();
+        assertEquals(1, find.count());
+        assertEquals(3, find.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        DistributionSummary documents = meterRegistry.get("candidate.mongo.documents")
+                .tag("command", "getMore").tag("caller", "MongoCommandRecorderTest.tagged").summary();
+        assertEquals(1, documents.totalAmount());
+        assertTrue(meterRegistry.get("candidate.mongo.bytes").tag("command", "find").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void commandFailed_GetMoreDropsCursorTag() throws Throwable {
+        tagged(() -> recorder.commandStarted(started(1, "find", "{find: 'candidates', batchSize: 2}")));
+        recorder.commandSucceeded(succeeded(1, "find", BsonDocument.parse(
+                "{cursor: {id: {$numberLong: '42'}, ns: 'db.candidates', firstBatch: [{_id: 1}]}, ok: 1}"), 1));
+        recorder.commandStarted(started(2, "getMore", "{getMore: {$numberLong: '42'}, collection: 'candidates'}"));
+        recorder.commandFailed(new CommandFailedEvent(null, 1, 2, CONNECTION, "candidate_management", "getMore",
+                TimeUnit.MILLISECONDS.toNanos(1), new IllegalStateException("cursor not found")));
+
+        recorder.commandStarted(started(3, "getMore", "{getMore: {$numberLong: '42'}, collection: 'candidates'}"));
+        recorder.commandSucceeded(succeeded(3, "getMore", BsonDocument.parse(
+                "{cursor: {id: {$numberLong: '0'}, ns: 'db.candidates', nextBatch: []}, ok: 1}"), 1));
+
+        assertEquals(1, meterRegistry.get("candidate.mongo.commands")
+                .tag("command", "getMore").tag("caller", "MongoCommandRecorderTest.tagged").tag("outcome", "failure")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("candidate.mongo.commands")
+                .tag("command", "getMore").tag("caller", "other").tag("outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void commandSucceeded_UntaggedCommandsAreRecordedAsOther() {
+        recorder.commandStarted(started(1, "update",
+                "{update: 'precomputed_rankings', updates: [{q: {_id: 'v1'}, u: {$inc: {readScore: 1}}}]}"));
+        recorder.commandSucceeded(succeeded(1, "update", BsonDocument.parse("{n: 1, ok: 1}"), 250));
+
+        assertEquals(1, meterRegistry.get("candidate.mongo.documents")
+                .tag("caller", "other").tag("collection", "precomputed_rankings").summary().totalAmount());
+    }
+
+    @Test
+    void filterShape_KeepsFieldsAndOperatorsOnly() {
+        assertEquals("{$and: [{gender: {$in: ?}}, {currentSalary: {$gte: ?, $lte: ?}}]}", shape(
+                "{find: 'candidates', filter: {$and: [{gender: {$in: ['MALE', 'FEMALE']}}, "
+                        + "{currentSalary: {$gte: 1, $lte: 9}}]}}"));
+        assertEquals("{_id: ?}", shape("{findAndModify: 'candidates', query: {_id: 'c1'}, update: {$set: {name: 'x'}}}"));
+    }
+
+    // Runs the action inside a repository call made from this method
+    private static void tagged(Runnable action) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(
+                CandidateRepositoryCustom.class.getMethod("findAllWhereIn", String.class, Collection.class));
+        when(invocation.proceed()).thenAnswer(call -> {
+            action.run();
+            return null;
+        });
+        new RepositoryCallTagger(CandidateRepository.class).invoke(invocation);
+    }
+
+    private static String shape(String command) {
+        BsonDocument document = BsonDocument.parse(command);
+        return MongoCommandRecorder.filterShape(document.getFirstKey(), document);
+    }
+
+    private static CommandStartedEvent started(int requestId, String name, String command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "candidate_management", name,
+                BsonDocument.parse(command));
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String name, BsonDocument reply, long millis) {
+        return new CommandSucceededEvent(null, 1, requestId, CONNECTION, "candidate_management", name, reply,
+                TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
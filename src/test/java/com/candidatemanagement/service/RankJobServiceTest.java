@@ -0,0 +1,142 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.exception.GenericApiException;
+import com.candidatemanagement.exception.RetryLaterException;
+import com.candidatemanagement.model.RankJob;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.service.ranking.jobs.RankJobService;
+import com.candidatemanagement.service.ranking.jobs.RankJobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankJobServiceTest {
+
+    private static final List<CandidateRankingDto> RANKINGS = List.of(
+            new CandidateRankingDto(1, "c1", "John Doe", "john.doe@example.com", 9),
+            new CandidateRankingDto(2, "c2", "Jane Doe", "jane.doe@example.com", 6),
+            new CandidateRankingDto(3, "c3", "Jim Doe", "jim.doe@example.com", 2));
+
+    @Mock
+    private RankJobStore store;
+
+    @Mock
+    private CandidateRankingService rankingService;
+
+    @Mock
+    private VacancyService vacancyService;
+
+    private final AtomicInteger jobIds = new AtomicInteger();
+    private RankJobService rankJobService;
+
+    @BeforeEach
+    void setUp() {
+        rankJobService = new RankJobService(store, rankingService, vacancyService, 1, 1, 2, Duration.ofHours(1));
+        lenient().when(vacancyService.getVacancyById("v1")).thenReturn(Optional.of(new Vacancy("Vacancy", Set.of())));
+        lenient().when(store.insert(any(RankJob.class))).thenAnswer(invocation -> {
+            RankJob job = invocation.getArgument(0);
+            job.setId("job-" + jobIds.incrementAndGet());
+            return job;
+        });
+        lenient().when(store.markRunning(anyString(), any(Instant.class))).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rankJobService.shutdown();
+    }
+
+    @Test
+    void submit_WritesResultsInPages() {
+        when(rankingService.streamRankingForVacancy("v1", new RankingQuery(null, 2))).thenAnswer(invocation -> RANKINGS.stream());
+
+        RankJob job = rankJobService.submit("v1", new RankingQuery(null, 2));
+
+        assertEquals(RankJob.Status.QUEUED, job.getStatus());
+        assertEquals(2, job.getPageSize());
+        verify(store, timeout(5000)).markSucceeded(eq(job.getId()), eq(3L), any(Instant.class));
+        verify(store).appendPage(job, 0, RANKINGS.subList(0, 2));
+        verify(store).appendPage(job, 1, RANKINGS.subList(2, 3));
+    }
+
+    @Test
+    void submit_FailedRankingFailsTheJob() {
+        when(rankingService.streamRankingForVacancy(eq("v1"), any())).thenThrow(new GenericApiException(
+                HttpStatus.BAD_REQUEST, "Unsupported Criterion", "Criterion type FOO is not supported"));
+
+        RankJob job = rankJobService.submit("v1", RankingQuery.unlimited());
+
+        verify(store, timeout(5000)).markFailed(eq(job.getId()), eq("Criterion type FOO is not supported"), any(Instant.class));
+        verify(store, never()).markSucceeded(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void submit_UnknownVacancyIsNotFound() {
+        when(vacancyService.getVacancyById("missing")).thenReturn(Optional.empty());
+
+        GenericApiException e = assertThrows(GenericApiException.class,
+                () -> rankJobService.submit("missing", RankingQuery.unlimited()));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+        verify(store, never()).insert(any());
+    }
+
+    @Test
+    void submit_FullQueueIsRefused() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(rankingService.streamRankingForVacancy(eq("v1"), any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return RANKINGS.stream();
+        });
+
+        rankJobService.submit("v1", RankingQuery.unlimited());
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        rankJobService.submit("v1", RankingQuery.unlimited());
+
+        RetryLaterException e = assertThrows(RetryLaterException.class,
+                () -> rankJobService.submit("v1", RankingQuery.unlimited()));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        verify(store).markFailed(eq("job-3"), anyString(), any(Instant.class));
+        release.countDown();
+    }
+
+    @Test
+    void getPage_UnwrittenPageOfRunningJobIsConflict() {
+        RankJob job = new RankJob("v1", null, null, 2, "node", Instant.now(), Instant.now());
+        job.setId("job-1");
+        job.setStatus(RankJob.Status.RUNNING);
+        job.setPagesWritten(1);
+        when(store.find("job-1")).thenReturn(Optional.of(job));
+
+        assertEquals(HttpStatus.CONFLICT,
+                assertThrows(GenericApiException.class, () -> rankJobService.getPage("v1", "job-1", 1)).getStatus());
+
+        job.setStatus(RankJob.Status.SUCCEEDED);
+        assertEquals(HttpStatus.NOT_FOUND,
+                assertThrows(GenericApiException.class, () -> rankJobService.getPage("v1", "job-1", 1)).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND,
+                assertThrows(GenericApiException.class, () -> rankJobService.getPage("v2", "job-1", 0)).getStatus());
+    }
+}
@@ -0,0 +1,152 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.exception.ApiError;
+import com.candidatemanagement.exception.GlobalExceptionHandler;
+import com.candidatemanagement.exception.RetryLaterException;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingBulkheadTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RankingBulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (bulkhead != null) {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void submit_RunsRankingOnBulkheadPool() throws Exception {
+        bulkhead = new RankingBulkhead(1, 2, 1, Duration.ofSeconds(5), Duration.ofSeconds(2), 0);
+
+        String thread = bulkhead.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.startsWith("ranking-bulkhead-"));
+    }
+
+    @Test
+    void submit_FullQueue_RefusedWithTooManyRequests() throws Exception {
+        bulkhead = new RankingBulkhead(1, 1, 1, Duration.ofSeconds(30), Duration.ofSeconds(2), 0);
+        CompletableFuture<Integer> running = bulkhead.submit(this::blockUntilReleased);
+        CompletableFuture<Integer> queued = bulkhead.submit(() -> 2);
+
+        CompletableFuture<Integer> refused = bulkhead.submit(() -> 3);
+
+        RetryLaterException rejection = rejectionOf(refused);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejection.getStatus());
+        release.countDown();
+        assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_QueueTimeout_RefusedWithServiceUnavailable() throws Exception {
+        bulkhead = new RankingBulkhead(1, 1, 4, Duration.ofMillis(50), Duration.ofSeconds(2), 0);
+        bulkhead.submit(this::blockUntilReleased);
+
+        CompletableFuture<Integer> waiting = bulkhead.submit(() -> 2);
+
+        RetryLaterException rejection = rejectionOf(waiting);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejection.getStatus());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    void submit_CancelledWhileQueued_NeverRuns() throws Exception {
+        bulkhead = new RankingBulkhead(1, 1, 4, Duration.ofSeconds(30), Duration.ofSeconds(2), 0);
+        CompletableFuture<Integer> running = bulkhead.submit(this::blockUntilReleased);
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Integer> queued = bulkhead.submit(() -> {
+            ran.set(true);
+            return 2;
+        });
+
+        queued.cancel(false);
+
+        assertEquals(0, bulkhead.queued());
+        release.countDown();
+        assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        assertEquals(3, bulkhead.submit(() -> 3).get(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertEquals(0, bulkhead.inFlight());
+    }
+
+    @Test
+    void submit_CancelledWhileRunning_ClosesResult() throws Exception {
+        bulkhead = new RankingBulkhead(1, 1, 4, Duration.ofSeconds(30), Duration.ofSeconds(2), 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        CompletableFuture<Stream<Integer>> running = bulkhead.submit(() -> {
+            started.countDown();
+            blockUntilReleased();
+            return Stream.of(1).onClose(closed::countDown);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        running.cancel(false);
+        release.countDown();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_SlowRankings_LowerTheLimit() throws Exception {
+        bulkhead = new RankingBulkhead(1, 4, 8, Duration.ofSeconds(5), Duration.ofMillis(1), 0);
+
+        bulkhead.submit(() -> sleep(20)).get(5, TimeUnit.SECONDS);
+        bulkhead.submit(() -> sleep(20)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(bulkhead.limit() < 4);
+        assertEquals(0, bulkhead.inFlight());
+    }
+
+    @Test
+    void handleRetryLaterException_SetsRetryAfterInWholeSeconds() {
+        ResponseEntity<ApiError> response = new GlobalExceptionHandler().handleRetryLaterException(new RetryLaterException(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Rankings", "busy", Duration.ofMillis(1500)));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private int blockUntilReleased() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 1;
+    }
+
+    private static int sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    private static RetryLaterException rejectionOf(CompletableFuture<?> future) {
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return assertInstanceOf(RetryLaterException.class, failure.getCause());
+    }
+}
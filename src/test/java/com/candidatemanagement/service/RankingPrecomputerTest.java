@@ -0,0 +1,162 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.cache.EntityChangedEvent;
+import com.candidatemanagement.dto.CandidateRankingDto;
+import com.candidatemanagement.dto.RankingQuery;
+import com.candidatemanagement.model.Candidate;
+import com.candidatemanagement.model.PrecomputedRanking;
+import com.candidatemanagement.model.Vacancy;
+import com.candidatemanagement.service.ranking.RankingBulkhead;
+import com.candidatemanagement.service.ranking.precompute.PrecomputedRankingStore;
+import com.candidatemanagement.service.ranking.precompute.RankingPrecomputer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingPrecomputerTest {
+
+    private static final List<CandidateRankingDto> RANKINGS = List.of(
+            new CandidateRankingDto(1, "c1", "John Doe", "john.doe@example.com", 9),
+            new CandidateRankingDto(2, "c2", "Jane Doe", "jane.doe@example.com", 6),
+            new CandidateRankingDto(3, "c3", "Jim Doe", "jim.doe@example.com", 2));
+
+    @Mock
+    private PrecomputedRankingStore store;
+
+    @Mock
+    private CandidateRankingService rankingService;
+
+    @Mock
+    private VacancyService vacancyService;
+
+    @Mock
+    private RankingBulkhead rankingBulkhead;
+
+    private RankingPrecomputer precomputer;
+
+    @BeforeEach
+    void setUp() {
+        precomputer = new RankingPrecomputer(store, rankingService, vacancyService, rankingBulkhead, "node-1",
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ZERO, 1.0, Duration.ofMinutes(5), 2, 0.9);
+    }
+
+    @Test
+    void tick_LeaseHolder_PrecomputesVacanciesWithoutRanking() {
+        when(store.acquireLease("node-1", Duration.ofSeconds(60))).thenReturn(true);
+        when(store.findAllByReads()).thenReturn(List.of());
+        when(vacancyService.getAllVacancies()).thenReturn(List.of(vacancy("v1")));
+        when(rankingService.rankCandidatesForVacancy("v1", new RankingQuery(3))).thenReturn(RANKINGS);
+
+        assertEquals(1, precomputer.tick());
+
+        // Only the first stored-limit entries are kept, so the stored list is marked incomplete
+        verify(store).save(eq("v1"), eq(RANKINGS.subList(0, 2)), eq(false), any(Instant.class));
+        verify(store).decayReads(0.9);
+    }
+
+    @Test
+    void tick_WithoutLease_OnlyReportsReadsAndWrites() {
+        when(store.find("v1")).thenReturn(Optional.empty());
+        when(vacancyService.getVacancyById("v1")).thenReturn(Optional.of(vacancy("v1")));
+        precomputer.lookup("v1", RankingQuery.unlimited());
+        precomputer.onEntityChanged(new EntityChangedEvent(Candidate.COLLECTION, "c1", false));
+        when(store.acquireLease("node-1", Duration.ofSeconds(60))).thenReturn(false);
+
+        assertEquals(0, precomputer.tick());
+
+        verify(store).addReads(argThat(reads -> reads.get("v1") == 1L));
+        verify(store).invalidateAll(any(Instant.class));
+        verifyNoInteractions(rankingService);
+    }
+
+    @Test
+    void lookup_UnknownVacancy_NeitherCountedNorRefreshed() {
+        when(store.find("missing")).thenReturn(Optional.empty());
+        when(vacancyService.getVacancyById("missing")).thenReturn(Optional.empty());
+        when(store.acquireLease("node-1", Duration.ofSeconds(60))).thenReturn(true);
+        when(store.findAllByReads()).thenReturn(List.of());
+        when(vacancyService.getAllVacancies()).thenReturn(List.of());
+
+        assertTrue(precomputer.lookup("missing", RankingQuery.unlimited()).isEmpty());
+
+        assertEquals(0, precomputer.tick());
+        verify(store).addReads(Map.of());
+        verifyNoInteractions(rankingService);
+    }
+
+    @Test
+    void onEntityChanged_InvalidatesStoredRankingsWithoutWaitingForTick() {
+        precomputer.onEntityChanged(new EntityChangedEvent(Candidate.COLLECTION, "c1", false));
+
+        verify(store, timeout(5000)).invalidateAll(any(Instant.class));
+    }
+
+    @Test
+    void lookup_CurrentRanking_AnswersQueryFromStoredPrefix() {
+        PrecomputedRanking stored = new PrecomputedRanking("v1", RANKINGS, true, Instant.now());
+        when(store.find("v1")).thenReturn(Optional.of(stored));
+
+        RankingPrecomputer.PrecomputedResult result = precomputer.lookup("v1", new RankingQuery(null, 5)).orElseThrow();
+
+        assertTrue(result.fresh());
+        assertEquals(RANKINGS.subList(0, 2), result.rankings());
+        assertEquals(RANKINGS.subList(0, 1), precomputer.lookup("v1", new RankingQuery(1)).orElseThrow().rankings());
+    }
+
+    @Test
+    void lookup_IncompleteRanking_CannotAnswerLargerQuery() {
+        PrecomputedRanking stored = new PrecomputedRanking("v1", RANKINGS.subList(0, 2), false, Instant.now());
+        when(store.find("v1")).thenReturn(Optional.of(stored));
+
+        assertTrue(precomputer.lookup("v1", RankingQuery.unlimited()).isEmpty());
+        assertTrue(precomputer.lookup("v1", new RankingQuery(2)).isPresent());
+        // The stored prefix already ends below the threshold, so it holds every qualifying candidate
+        assertEquals(1, precomputer.lookup("v1", new RankingQuery(null, 7)).orElseThrow().rankings().size());
+    }
+
+    @Test
+    void lookup_AfterWrite_ServesStaleAndRefreshesItFirst() {
+        PrecomputedRanking stale = new PrecomputedRanking("v2", RANKINGS, true, Instant.now().minusSeconds(30));
+        when(store.find("v2")).thenReturn(Optional.of(stale));
+        precomputer.onEntityChanged(new EntityChangedEvent(Candidate.COLLECTION, "c1", false));
+
+        RankingPrecomputer.PrecomputedResult result = precomputer.lookup("v2", RankingQuery.unlimited()).orElseThrow();
+
+        assertFalse(result.fresh());
+        PrecomputedRanking current = new PrecomputedRanking("v1", RANKINGS, true, Instant.now());
+        current.setReadScore(10);
+        stale.setInvalidatedAt(Instant.now().minusSeconds(5));
+        when(store.acquireLease("node-1", Duration.ofSeconds(60))).thenReturn(true);
+        when(store.findAllByReads()).thenReturn(List.of(current, stale));
+        when(vacancyService.getAllVacancies()).thenReturn(List.of(vacancy("v1"), vacancy("v2"), vacancy("v3")));
+        when(rankingService.rankCandidatesForVacancy(anyString(), eq(new RankingQuery(3)))).thenReturn(RANKINGS.subList(0, 1));
+
+        assertEquals(2, precomputer.tick());
+
+        InOrder order = inOrder(rankingService);
+        order.verify(rankingService).rankCandidatesForVacancy("v2", new RankingQuery(3));
+        order.verify(rankingService).rankCandidatesForVacancy("v3", new RankingQuery(3));
+        verify(rankingService, never()).rankCandidatesForVacancy(eq("v1"), any());
+    }
+
+    private static Vacancy vacancy(String id) {
+        Vacancy vacancy = new Vacancy("Vacancy " + id, Set.of());
+        vacancy.setId(id);
+        return vacancy;
+    }
+}
@@ -0,0 +1,66 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.factory.CriterionMatcherFactory;
+import com.candidatemanagement.service.criteria.impl.AnyCriterionMatcher;
+import com.candidatemanagement.service.criteria.impl.EnumerationCriterionMatcher;
+import com.candidatemanagement.service.criteria.impl.RangeCriterionMatcher;
+import com.candidatemanagement.warmup.RankingWarmUp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingWarmUpTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final CriterionMatcherFactory criterionMatcherFactory = new CriterionMatcherFactory(
+            new AnyCriterionMatcher(), new EnumerationCriterionMatcher(), new RangeCriterionMatcher());
+
+    @Test
+    void run_CompletesConfiguredIterations() {
+        RankingWarmUp warmUp = warmUp("local", 10, Duration.ofMinutes(1));
+
+        assertEquals(10, warmUp.run());
+    }
+
+    @Test
+    void run_DistributedMode_RanksThroughPartitionSnapshot() {
+        RankingWarmUp warmUp = warmUp("distributed", 10, Duration.ofMinutes(1));
+
+        assertEquals(10, warmUp.run());
+    }
+
+    @Test
+    void run_StopsWhenTimeBudgetIsSpent() {
+        RankingWarmUp warmUp = warmUp("local", Integer.MAX_VALUE, Duration.ZERO);
+
+        assertEquals(0, warmUp.run());
+    }
+
+    @Test
+    void onApplicationReady_RefusesTrafficWhileWarmingUp() {
+        RankingWarmUp warmUp = warmUp("local", 1, Duration.ofMinutes(1));
+
+        warmUp.onApplicationReady();
+
+        verify(eventPublisher).publishEvent(any(AvailabilityChangeEvent.class));
+    }
+
+    private RankingWarmUp warmUp(String rankingMode, int iterations, Duration timeBudget) {
+        return new RankingWarmUp(criterionMatcherFactory, rankingMode,
+                new ObjectMapper().registerModule(new JavaTimeModule()), eventPublisher, iterations, 200, timeBudget);
+    }
+}
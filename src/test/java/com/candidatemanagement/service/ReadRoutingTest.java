@@ -0,0 +1,63 @@
+package com.candidatemanagement.service;
+
+import com.candidatemanagement.repository.CandidateRepository;
+import com.candidatemanagement.routing.ReadRouting;
+import com.candidatemanagement.routing.ReadRoutingInterceptor;
+import com.mongodb.ReadPreference;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadRoutingTest {
+
+    private static final ReadPreference SECONDARY =
+            ReadPreference.valueOf("secondaryPreferred", List.of(), 90, TimeUnit.SECONDS);
+
+    private final ReadRoutingInterceptor interceptor = new ReadRoutingInterceptor(
+            CandidateRepository.class, Set.of("CandidateRepository.findAll"), SECONDARY);
+
+    @Test
+    void invoke_RoutedMethodReadsFromSecondary() throws Throwable {
+        assertEquals(Optional.of(SECONDARY), routingDuring(CandidateRepository.class.getMethod("findAll")));
+        assertEquals(Optional.empty(), ReadRouting.current());
+    }
+
+    @Test
+    void invoke_OtherMethodsStayOnPrimary() throws Throwable {
+        assertEquals(Optional.empty(), routingDuring(CandidateRepository.class.getMethod("findById", Object.class)));
+    }
+
+    @Test
+    void invoke_WithinOnPrimary_RoutedMethodStaysOnPrimary() throws Throwable {
+        Method findAll = CandidateRepository.class.getMethod("findAll");
+
+        Optional<ReadPreference> routing = ReadRouting.onPrimary(() -> {
+            try {
+                return routingDuring(findAll);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(Optional.of(ReadPreference.primary()), routing);
+        assertEquals(Optional.empty(), ReadRouting.current());
+    }
+
+    private Optional<ReadPreference> routingDuring(Method method) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenAnswer(call -> ReadRouting.current());
+        @SuppressWarnings("unchecked")
+        Optional<ReadPreference> routing = (Optional<ReadPreference>) interceptor.invoke(invocation);
+        return routing;
+    }
+}
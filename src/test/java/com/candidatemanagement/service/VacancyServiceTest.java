@@ -1,5 +1,6 @@
 package com.candidatemanagement.service;
 
+import com.candidatemanagement.cache.EntityChangedEvent;
 import com.candidatemanagement.dto.VacancyRequestDto;
 import com.candidatemanagement.exception.GenericApiException;
 import com.candidatemanagement.exception.ValidationException;
@@ -13,13 +14,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +32,9 @@ class VacancyServiceTest {
     @Mock
     private VacancyRepository vacancyRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VacancyServiceImpl vacancyService;
 
@@ -89,6 +96,7 @@ class VacancyServiceTest {
         assertEquals("Software Engineer", result.getName());
         assertEquals(3, result.getCriteria().size());
         verify(vacancyRepository).save(any(Vacancy.class));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Vacancy.COLLECTION, "1", false));
     }
 
     @Test
@@ -164,14 +172,16 @@ class VacancyServiceTest {
         );
         updatedVacancy.setId("1");
 
-        when(vacancyRepository.findById("1")).thenReturn(Optional.of(testVacancy));
-        when(vacancyRepository.save(any(Vacancy.class))).thenReturn(updatedVacancy);
+        when(vacancyRepository.setFieldsById(eq("1"), anyMap())).thenReturn(Optional.of(updatedVacancy));
 
         Vacancy result = vacancyService.updateVacancy("1", updatedDto);
 
         assertNotNull(result);
         assertEquals("Senior Software Engineer", result.getName());
-        verify(vacancyRepository).save(any(Vacancy.class));
+        verify(vacancyRepository).setFieldsById("1", Map.of(
+                "name", "Senior Software Engineer",
+                "criteria", validVacancyDto.criteria()));
+        verify(vacancyRepository, never()).save(any(Vacancy.class));
     }
 
     @Test
@@ -187,31 +197,27 @@ class VacancyServiceTest {
         );
         expectedResult.setId("1");
 
-        when(vacancyRepository.findById("1")).thenReturn(Optional.of(testVacancy));
-        when(vacancyRepository.save(any(Vacancy.class))).thenReturn(expectedResult);
+        when(vacancyRepository.setFieldsById("1", Map.of("name", "Updated Name"))).thenReturn(Optional.of(expectedResult));
 
         Vacancy result = vacancyService.updateVacancy("1", partialUpdateDto);
 
         assertNotNull(result);
         assertEquals("Updated Name", result.getName());
         assertEquals(validCriteria, result.getCriteria());  // Use validCriteria for verification
-        verify(vacancyRepository).save(any(Vacancy.class));
     }
 
     @Test
     void updateVacancy_InvalidData_ThrowsException() {
-        when(vacancyRepository.findById("1")).thenReturn(Optional.of(testVacancy));
-
         assertThrows(ValidationException.class, () -> {
             vacancyService.updateVacancy("1", invalidVacancyDto);
         });
 
-        verify(vacancyRepository, never()).save(any(Vacancy.class));
+        verify(vacancyRepository, never()).setFieldsById(anyString(), anyMap());
     }
 
     @Test
     void updateVacancy_NotFound_ThrowsException() {
-        when(vacancyRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(vacancyRepository.setFieldsById(eq("nonexistent"), anyMap())).thenReturn(Optional.empty());
 
         GenericApiException exception = assertThrows(GenericApiException.class, () -> {
             vacancyService.updateVacancy("nonexistent", validVacancyDto);
@@ -223,17 +229,17 @@ class VacancyServiceTest {
 
     @Test
     void deleteVacancy_Success() {
-        when(vacancyRepository.existsById("1")).thenReturn(true);
-        doNothing().when(vacancyRepository).deleteById("1");
+        when(vacancyRepository.deleteOneById("1")).thenReturn(true);
 
         vacancyService.deleteVacancy("1");
 
-        verify(vacancyRepository).deleteById("1");
+        verify(vacancyRepository).deleteOneById("1");
+        verify(vacancyRepository, never()).existsById(anyString());
     }
 
     @Test
     void deleteVacancy_NotFound_ThrowsException() {
-        when(vacancyRepository.existsById("nonexistent")).thenReturn(false);
+        when(vacancyRepository.deleteOneById("nonexistent")).thenReturn(false);
 
         GenericApiException exception = assertThrows(GenericApiException.class, () -> {
             vacancyService.deleteVacancy("nonexistent");